@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Admits the deployment of applications to the cluster while the sum of their resource requests fits the cluster
+ * capacity.
+ *
+ * <p> Requests are queued in arrival order. A request is admitted when it fits in the remaining capacity and every
+ * request ahead of it is either admitted or blocked by another deployment of the same application in the same
+ * namespace, so large applications are never starved by smaller ones. An application larger than the whole
+ * capacity is admitted once the cluster is empty.
+ *
+ * <p> The capacity is configured with the <code>it.cluster.cpu</code> (millicores) and <code>it.cluster.memory</code>
+ * (bytes, or any Kubernetes quantity) system properties, or computed from the allocatable resources of the cluster
+ * nodes scaled by <code>it.cluster.utilization</code> (0.75 by default).
+ */
+public final class AdmissionController {
+
+  public static final String CLUSTER_CPU_PROPERTY = "it.cluster.cpu";
+  public static final String CLUSTER_MEMORY_PROPERTY = "it.cluster.memory";
+  public static final String CLUSTER_UTILIZATION_PROPERTY = "it.cluster.utilization";
+  private static final Logger log = LoggerFactory.getLogger(AdmissionController.class);
+  private static final String REPORT_SECTION = "Cluster admission (queued, cpu, memory)";
+  private static final AdmissionController INSTANCE = new AdmissionController();
+
+  private final List<Lease> queue;
+  private final List<Lease> admitted;
+  private Resources capacity;
+
+  private AdmissionController() {
+    queue = new ArrayList<>();
+    admitted = new ArrayList<>();
+  }
+
+  public static AdmissionController admissionController() {
+    return INSTANCE;
+  }
+
+  /**
+   * Blocks until the application can be deployed, the returned lease must be closed once the application is
+   * undeployed (or the test class completes).
+   *
+   * @throws AssertionError if the test deadline is exhausted before the application is admitted.
+   */
+  public Lease admit(KubernetesClient kc, String application, Resources requests) throws InterruptedException {
+    final Lease lease = new Lease(application + "@" + kc.getNamespace(), requests);
+    try (Deadline.Wait budget = Deadline.await("AdmissionController.admit", Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+      final long timeoutNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget.getTimeoutMillis());
+      synchronized (this) {
+        if (capacity == null) {
+          capacity = capacity(kc);
+          log.info("Cluster admission capacity: {}", capacity);
+        }
+        queue.add(lease);
+        try {
+          while (!isAdmissible(lease)) {
+            final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(timeoutNanos - System.nanoTime());
+            if (remainingMillis <= 0) {
+              throw new AssertionError(String.format("Deadline budget exhausted while waiting for cluster admission of %s (%s)",
+                lease.key, requests));
+            }
+            wait(remainingMillis);
+          }
+        } finally {
+          queue.remove(lease);
+          notifyAll();
+        }
+        admitted.add(lease);
+      }
+    }
+    final long queuedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lease.queuedNanos);
+    log.info("Admitted {} ({}) after {}ms", lease.key, requests, queuedMillis);
+    addToReport(REPORT_SECTION, String.format("%s: %sms, %sm, %sMi",
+      lease.key, queuedMillis, requests.getCpuMillis(), requests.getMemoryBytes() / (1024 * 1024)));
+    return lease;
+  }
+
+  private boolean isAdmissible(Lease lease) {
+    final Set<String> activeKeys = new HashSet<>();
+    admitted.forEach(l -> activeKeys.add(l.key));
+    // No used resources means that nothing is (or will be) running before the evaluated lease
+    Resources used = admitted.stream().map(l -> l.requests).reduce(Resources.NONE, Resources::plus);
+    for (Lease queued : queue) {
+      if (activeKeys.contains(queued.key)) {
+        // Blocked by another deployment of the same application, requests behind it may proceed
+        continue;
+      }
+      final boolean fits = used.isEmpty() || used.plus(queued.requests).fitsIn(capacity);
+      if (queued == lease) {
+        return fits;
+      }
+      if (!fits) {
+        // Preserve arrival order, don't let later requests overtake one waiting for capacity
+        return false;
+      }
+      // An earlier request that fits will be admitted first, account for it
+      used = used.plus(queued.requests);
+      activeKeys.add(queued.key);
+    }
+    return false;
+  }
+
+  private synchronized void release(Lease lease) {
+    if (admitted.remove(lease)) {
+      log.info("Released {} ({})", lease.key, lease.requests);
+      notifyAll();
+    }
+  }
+
+  private static Resources capacity(KubernetesClient kc) {
+    final String cpu = System.getProperty(CLUSTER_CPU_PROPERTY);
+    final String memory = System.getProperty(CLUSTER_MEMORY_PROPERTY);
+    if (cpu != null && memory != null) {
+      return new Resources(Long.parseLong(cpu), Resources.bytes(new Quantity(memory)));
+    }
+    Resources allocatable = Resources.NONE;
+    try {
+      for (Node node : kc.nodes().list().getItems()) {
+        allocatable = allocatable.plus(new Resources(
+          Resources.millis(node.getStatus().getAllocatable().get("cpu")),
+          Resources.bytes(node.getStatus().getAllocatable().get("memory"))));
+      }
+    } catch (Exception ex) {
+      log.warn("Unable to compute the cluster capacity from its Nodes, deployments will be admitted one at a time", ex);
+    }
+    final double utilization = Double.parseDouble(System.getProperty(CLUSTER_UTILIZATION_PROPERTY, "0.75"));
+    return new Resources(
+      cpu != null ? Long.parseLong(cpu) : (long) (allocatable.getCpuMillis() * utilization),
+      memory != null ? Resources.bytes(new Quantity(memory)) : (long) (allocatable.getMemoryBytes() * utilization));
+  }
+
+  public final class Lease implements AutoCloseable {
+
+    private final String key;
+    private final Resources requests;
+    private final long queuedNanos;
+
+    private Lease(String key, Resources requests) {
+      this.key = key;
+      this.requests = requests;
+      this.queuedNanos = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+      release(this);
+    }
+  }
+}
@@ -16,6 +16,7 @@ package org.eclipse.jkube.integrationtests;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -36,17 +37,35 @@ public class AsyncUtil {
     return await(supplier, 100L);
   }
 
+  /**
+   * Polls the supplier until the condition is met.
+   *
+   * <p> Polling stops once the {@link Deadline} of the calling test is exhausted or the returned future is
+   * completed or cancelled by the caller (e.g. after a timeout).
+   */
   public static <T> Function<Predicate<T>, CompletableFuture<T>> await(Supplier<T> supplier, long periodMillis) {
-    return condition -> CompletableFuture.supplyAsync(() -> {
-      T result;
-      while (!condition.test(result = supplier.get())) {
+    final Deadline deadline = Deadline.current();
+    return condition -> {
+      final CompletableFuture<T> future = new CompletableFuture<>();
+      executorService().execute(() -> {
         try {
-          Thread.sleep(periodMillis);
+          T result = supplier.get();
+          while (!future.isDone() && !condition.test(result)) {
+            if (deadline.isExpired()) {
+              throw new TimeoutException("Deadline budget exhausted for " + deadline.getOwner());
+            }
+            Thread.sleep(periodMillis);
+            result = supplier.get();
+          }
+          future.complete(result);
         } catch (InterruptedException e) {
           Thread.currentThread().interrupt();
+          future.completeExceptionally(e);
+        } catch (Exception e) {
+          future.completeExceptionally(e);
         }
-      }
-      return result;
-    }, executorService());
+      });
+      return ResourceTracker.track("await", "AsyncUtil.await polling loop", future);
+    };
   }
 }
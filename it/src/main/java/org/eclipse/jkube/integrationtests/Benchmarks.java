@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Time-to-first-response benchmark of the deployed applications, enabled with <code>it.benchmark.runs</code>.
+ *
+ * <p> Every run measures, from the moment the application is applied, when the Pod is scheduled, its containers are
+ * started, it's ready and the application serves its first successful HTTP response. Each application is deployed
+ * <code>it.benchmark.runs</code> times. The first (cold) run, timed from the completion of the <code>apply</code>
+ * goal, is reported on its own, the later (warm) runs recreate the Deployments with a warm image cache and are
+ * aggregated. The comparative table (cold first response, warm medians, and min/max of the warm first responses) is
+ * added to the test report and written to <code>target/jkube-benchmark.md</code>.
+ */
+public final class Benchmarks {
+
+  public static final String RUNS_PROPERTY = "it.benchmark.runs";
+  private static final String REPORT_SECTION = "Time to first response (cold first response, warm runs, "
+    + "warm scheduled, started, ready, first response p50, min, max)";
+  private static final Map<Class<?>, Long> APPLIED = new ConcurrentHashMap<>();
+  private static final Map<String, Queue<Run>> RUNS = new ConcurrentSkipListMap<>();
+
+  static {
+    ReportExtension.onClose(Benchmarks::flush);
+  }
+
+  private Benchmarks() { }
+
+  public static boolean isEnabled() {
+    return getRuns() > 0;
+  }
+
+  public static int getRuns() {
+    return Integer.getInteger(RUNS_PROPERTY, 0);
+  }
+
+  /**
+   * Marks the completion of the <code>apply</code> goal of the provided test class.
+   */
+  public static void applied(Class<?> testClass) {
+    APPLIED.put(testClass, System.nanoTime());
+  }
+
+  /**
+   * The {@link System#nanoTime()} at which the last <code>apply</code> goal of the provided test class completed (once),
+   * or the provided fallback if it wasn't recorded.
+   */
+  public static long appliedAt(Class<?> testClass, long fallback) {
+    final Long applied = APPLIED.remove(testClass);
+    return applied == null ? fallback : applied;
+  }
+
+  public static void record(String application, Run run) {
+    RUNS.computeIfAbsent(application, k -> new ConcurrentLinkedQueue<>()).add(run);
+  }
+
+  private static void flush() throws IOException {
+    if (RUNS.isEmpty()) {
+      return;
+    }
+    final List<String> table = new ArrayList<>();
+    table.add("| Application | Cold first response | Warm runs | Scheduled | Started | Ready | First response "
+      + "| Min | Max |");
+    table.add("|---|---:|---:|---:|---:|---:|---:|---:|---:|");
+    RUNS.entrySet().stream()
+      .sorted(Comparator.comparingLong(e -> sortKey(e.getValue())))
+      .forEach(e -> {
+        final List<Run> warm = e.getValue().stream().filter(r -> !r.isCold()).collect(Collectors.toList());
+        final long[] firstResponses = sorted(warm, Run::getFirstResponseMillis);
+        final String row = String.format("%s, %s", cold(e.getValue()), warm.isEmpty() ? "0, -, -, -, -, -, -" :
+          String.format("%s, %sms, %sms, %sms, %sms, %sms, %sms", warm.size(),
+            median(warm, Run::getScheduledMillis), median(warm, Run::getStartedMillis),
+            median(warm, Run::getReadyMillis), WaitStatistics.percentile(firstResponses, 50),
+            WaitStatistics.percentile(firstResponses, 0), WaitStatistics.percentile(firstResponses, 100)));
+        ReportExtension.addToReport(REPORT_SECTION, e.getKey() + ": " + row);
+        table.add("| " + e.getKey() + " | " + row.replace(", ", " | ") + " |");
+      });
+    Files.write(new File("target", "jkube-benchmark.md").toPath(), table, StandardCharsets.UTF_8);
+  }
+
+  private static String cold(Queue<Run> runs) {
+    return runs.stream().filter(Run::isCold).map(Run::getFirstResponseMillis).filter(millis -> millis >= 0)
+      .findFirst().map(millis -> millis + "ms").orElse("-");
+  }
+
+  /**
+   * Median warm first response, or the cold one for applications with a single run.
+   */
+  private static long sortKey(Queue<Run> runs) {
+    final List<Run> warm = runs.stream().filter(r -> !r.isCold()).collect(Collectors.toList());
+    return warm.isEmpty() ?
+      runs.stream().mapToLong(Run::getFirstResponseMillis).max().orElse(0L) : median(warm, Run::getFirstResponseMillis);
+  }
+
+  private static long[] sorted(Collection<Run> runs, ToLongFunction<Run> phase) {
+    return runs.stream().mapToLong(phase).filter(millis -> millis >= 0).sorted().toArray();
+  }
+
+  private static long median(Collection<Run> runs, ToLongFunction<Run> phase) {
+    return WaitStatistics.percentile(sorted(runs, phase), 50);
+  }
+
+  /**
+   * Milliseconds elapsed since the application was applied until each phase was observed, -1 if the phase wasn't
+   * observed. The cold run is the first deployment of the application, timed from the completion of the
+   * <code>apply</code> goal.
+   */
+  public static final class Run {
+
+    private final boolean cold;
+    private final long scheduledMillis;
+    private final long startedMillis;
+    private final long readyMillis;
+    private final long firstResponseMillis;
+
+    public Run(boolean cold, long scheduledMillis, long startedMillis, long readyMillis, long firstResponseMillis) {
+      this.cold = cold;
+      this.scheduledMillis = scheduledMillis;
+      this.startedMillis = startedMillis;
+      this.readyMillis = readyMillis;
+      this.firstResponseMillis = firstResponseMillis;
+    }
+
+    public boolean isCold() {
+      return cold;
+    }
+
+    public long getScheduledMillis() {
+      return scheduledMillis;
+    }
+
+    public long getStartedMillis() {
+      return startedMillis;
+    }
+
+    public long getReadyMillis() {
+      return readyMillis;
+    }
+
+    public long getFirstResponseMillis() {
+      return firstResponseMillis;
+    }
+  }
+}
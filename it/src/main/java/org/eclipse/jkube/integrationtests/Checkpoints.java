@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.jkube.integrationtests.cli.CliUtils;
+import org.eclipse.jkube.integrationtests.cli.CliUtils.CliResult;
+import org.eclipse.jkube.integrationtests.jupiter.api.Tier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.eclipse.jkube.integrationtests.JKubeCase.JKUBE_VERSION_SYSTEM_PROPERTY;
+
+/**
+ * Completion checkpoints of the steps (test methods) of ordered test classes, so that a rerun can resume from the
+ * first incomplete step.
+ *
+ * <p> After every successful step, the fingerprint of the state it left behind is recorded in
+ * <code>&lt;test class&gt;.checkpoints</code> in the <code>it.checkpoints.dir</code> directory
+ * (<code>target/jkube-checkpoints</code> by default). The fingerprint covers:
+ * <ul>
+ *   <li>the project inputs (every file of the project but its build output) and the JKube version.</li>
+ *   <li>the ID of the application image in the Docker daemon.</li>
+ *   <li>the manifests and charts generated by JKube (<code>target/classes/META-INF/jkube</code>,
+ *     <code>target/jkube</code>).</li>
+ * </ul>
+ *
+ * <p> With <code>-Dit.resume=true</code>, the leading filesystem and Docker steps are skipped up to the last one
+ * whose recorded fingerprint matches the current state. Cluster steps always run, their state doesn't survive the
+ * previous run. Classes sharing their project or their application with another test class never resume, the
+ * other class can change the state their fingerprints cover.
+ */
+public final class Checkpoints {
+
+  public static final String RESUME_PROPERTY = "it.resume";
+  public static final String DIRECTORY_PROPERTY = "it.checkpoints.dir";
+  private static final Logger log = LoggerFactory.getLogger(Checkpoints.class);
+  private static final Set<String> BUILD_OUTPUT = Set.of("target", "build", ".gradle");
+  private static final String PROJECT_HEADER = "#project";
+  private static final String APPLICATION_HEADER = "#application";
+  private static final Map<String, Set<String>> OWNERS = new ConcurrentHashMap<>();
+
+  private Checkpoints() { }
+
+  public static boolean isResumeEnabled() {
+    return Boolean.getBoolean(RESUME_PROPERTY);
+  }
+
+  /**
+   * Fingerprint of the current state of the project, its image and its generated manifests.
+   */
+  public static String fingerprint(Project project, String application) throws IOException, InterruptedException {
+    final Path root = Paths.get("..", project.getProject());
+    final StringBuilder state = new StringBuilder()
+      .append("jkube=").append(System.getProperty(JKUBE_VERSION_SYSTEM_PROPERTY)).append('\n')
+      .append("inputs=").append(hash(root, true)).append('\n')
+      .append("image=").append(imageId(application)).append('\n')
+      .append("manifests=").append(hash(root.resolve(Paths.get("target", "classes", "META-INF", "jkube")), false))
+      .append(hash(root.resolve(Paths.get("target", "jkube")), false)).append('\n');
+    return DigestUtils.sha256Hex(state.toString());
+  }
+
+  /**
+   * Registers the project and application of a test class of the current run.
+   */
+  public static void register(Class<?> testClass, Project project, String application) {
+    for (String key : keys(project, application)) {
+      OWNERS.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(testClass.getName());
+    }
+  }
+
+  /**
+   * Whether another test class uses the same project or application, in the current run (registered classes) or in
+   * the run that recorded the checkpoints.
+   */
+  public static boolean isShared(Class<?> testClass, Project project, String application) {
+    final List<String> keys = keys(project, application);
+    for (String key : keys) {
+      if (OWNERS.getOrDefault(key, Collections.emptySet()).stream().anyMatch(c -> !c.equals(testClass.getName()))) {
+        return true;
+      }
+    }
+    final Path directory = file(testClass).toAbsolutePath().getParent();
+    if (!Files.isDirectory(directory)) {
+      return false;
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path other : files.filter(f -> f.getFileName().toString().endsWith(".checkpoints"))
+        .filter(f -> !f.getFileName().equals(file(testClass).getFileName())).collect(Collectors.toList())) {
+        if (Files.readAllLines(other, StandardCharsets.UTF_8).stream()
+          .filter(line -> line.startsWith("#"))
+          .map(line -> line.substring(1).replace('\t', '=')).anyMatch(keys::contains)) {
+          return true;
+        }
+      }
+    } catch (IOException ex) {
+      log.warn("Unable to read the checkpoints in {}, considering {} shared", directory, project.getProject(), ex);
+      return true;
+    }
+    return false;
+  }
+
+  public static List<Checkpoint> load(Class<?> testClass) {
+    final Path file = file(testClass);
+    if (!Files.isRegularFile(file)) {
+      return Collections.emptyList();
+    }
+    try {
+      final List<Checkpoint> checkpoints = new ArrayList<>();
+      for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        final String[] fields = line.split("\t");
+        if (fields.length == 3 && !line.startsWith("#")) {
+          checkpoints.add(new Checkpoint(fields[0], Tier.Level.valueOf(fields[1]), fields[2]));
+        }
+      }
+      return checkpoints;
+    } catch (IOException | IllegalArgumentException ex) {
+      log.warn("Ignoring invalid checkpoints in {}", file, ex);
+      return Collections.emptyList();
+    }
+  }
+
+  public static void save(Class<?> testClass, Project project, String application, List<Checkpoint> checkpoints)
+    throws IOException {
+    final Path file = file(testClass);
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    final List<String> lines = new ArrayList<>();
+    lines.add(PROJECT_HEADER + "\t" + project.getProject());
+    lines.add(APPLICATION_HEADER + "\t" + application);
+    checkpoints.forEach(c -> lines.add(String.join("\t", c.step, c.tier.name(), c.fingerprint)));
+    Files.write(file, lines, StandardCharsets.UTF_8);
+  }
+
+  private static List<String> keys(Project project, String application) {
+    return List.of(PROJECT_HEADER.substring(1) + "=" + project.getProject(),
+      APPLICATION_HEADER.substring(1) + "=" + application);
+  }
+
+  private static Path file(Class<?> testClass) {
+    return Paths.get(System.getProperty(DIRECTORY_PROPERTY, Paths.get("target", "jkube-checkpoints").toString()),
+      testClass.getName() + ".checkpoints");
+  }
+
+  private static String imageId(String application) throws IOException, InterruptedException {
+    final CliResult result = CliUtils.runCommand(String.format(
+      "docker image inspect --format \"{{.Id}}\" integration-tests/%s:latest", application));
+    return result.getExitCode() == 0 ? result.getOutput().trim() : "none";
+  }
+
+  private static String hash(Path root, boolean excludeBuildOutput) throws IOException {
+    if (!Files.isDirectory(root)) {
+      return "none";
+    }
+    final List<Path> files;
+    try (Stream<Path> walk = Files.walk(root)) {
+      files = walk
+        .filter(Files::isRegularFile)
+        .filter(p -> !excludeBuildOutput || !isBuildOutput(root.relativize(p)))
+        .sorted()
+        .collect(Collectors.toList());
+    }
+    final MessageDigest digest = DigestUtils.getSha256Digest();
+    for (Path file : files) {
+      digest.update(root.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+      try (InputStream is = Files.newInputStream(file)) {
+        DigestUtils.updateDigest(digest, is);
+      }
+    }
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  private static boolean isBuildOutput(Path relativePath) {
+    for (int it = 0; it < relativePath.getNameCount() - 1; it++) {
+      if (BUILD_OUTPUT.contains(relativePath.getName(it).toString())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static final class Checkpoint {
+
+    private final String step;
+    private final Tier.Level tier;
+    private final String fingerprint;
+
+    public Checkpoint(String step, Tier.Level tier, String fingerprint) {
+      this.step = step;
+      this.tier = tier;
+      this.fingerprint = fingerprint;
+    }
+
+    public String getStep() {
+      return step;
+    }
+
+    public Tier.Level getTier() {
+      return tier;
+    }
+
+    public String getFingerprint() {
+      return fingerprint;
+    }
+  }
+}
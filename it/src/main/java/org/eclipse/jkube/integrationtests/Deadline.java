@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Time budget shared by every wait performed by a test.
+ *
+ * <p> Each wait requests its usual timeout and gets the minimum between that timeout and what's left of the
+ * budget. Once the budget is exhausted, any further wait fails immediately instead of burning its own timeout.
+ *
+ * <p> The budget is bound to the test thread, tasks running in other threads must {@link #attach()} it.
+ */
+public final class Deadline {
+
+  public static final String DEADLINE_PROPERTY = "it.deadline";
+  private static final Duration DEFAULT_BUDGET = Duration.ofMinutes(30);
+  private static final Deadline UNBOUNDED = new Deadline(null, "unbounded", Duration.ZERO, Long.MAX_VALUE);
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+  private static final Pattern DURATION = Pattern.compile("^(\\d+)(ms|s|m|h)?$");
+
+  private final Class<?> testClass;
+  private final String owner;
+  private final Duration budget;
+  private final long expiresAtNanos;
+
+  private Deadline(Class<?> testClass, String owner, Duration budget, long expiresAtNanos) {
+    this.testClass = testClass;
+    this.owner = owner;
+    this.budget = budget;
+    this.expiresAtNanos = expiresAtNanos;
+  }
+
+  /**
+   * Starts a new budget for the current thread, the budget duration is configured with the
+   * <code>it.deadline</code> system property (e.g. <code>15m</code>, <code>90s</code>, <code>PT20M</code>).
+   */
+  public static Deadline start(Class<?> testClass, String test) {
+    final Duration budget = parseDuration(System.getProperty(DEADLINE_PROPERTY, DEFAULT_BUDGET.toString()));
+    final Deadline deadline = new Deadline(testClass, String.format("%s - %s", testClass.getName(), test), budget,
+      System.nanoTime() + budget.toNanos());
+    CURRENT.set(deadline);
+    return deadline;
+  }
+
+  public static void clear() {
+    CURRENT.remove();
+  }
+
+  public static Deadline current() {
+    final Deadline deadline = CURRENT.get();
+    return deadline == null ? UNBOUNDED : deadline;
+  }
+
+  /**
+   * Starts a wait consuming the budget of the current thread.
+   *
+   * @param name name of the wait, used to group the recorded wait times.
+   * @param timeout the timeout the wait would use without a budget.
+   * @param unit the timeout unit.
+   * @return the wait, it must be closed once it completes.
+   * @throws AssertionError if the budget is already exhausted.
+   */
+  public static Wait await(String name, long timeout, TimeUnit unit) {
+    return current().newWait(name, unit.toMillis(timeout));
+  }
+
+  public Wait newWait(String name, long requestedMillis) {
+    final long remaining = remainingMillis();
+    if (remaining <= 0) {
+      WaitStatistics.record(name, 0L, 0L, true);
+      throw new AssertionError(String.format("Deadline budget of %ss for %s exhausted before '%s'",
+        budget.getSeconds(), owner, name));
+    }
+    return new Wait(name, Math.min(requestedMillis, remaining));
+  }
+
+  public boolean isExpired() {
+    return remainingMillis() <= 0;
+  }
+
+  public long remainingMillis() {
+    if (this == UNBOUNDED) {
+      return Long.MAX_VALUE;
+    }
+    return TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime());
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  /**
+   * The test class the budget belongs to, null for the unbounded budget of threads not running a test.
+   */
+  public Class<?> getTestClass() {
+    return testClass;
+  }
+
+  /**
+   * Binds this budget to the current thread until the returned scope is closed.
+   */
+  public Scope attach() {
+    final Deadline previous = CURRENT.get();
+    CURRENT.set(this);
+    return () -> {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    };
+  }
+
+  /**
+   * Parses a duration either as an ISO-8601 duration (e.g. <code>PT1H30M</code>) or as an amount with an optional
+   * unit: <code>ms</code>, <code>s</code> (default), <code>m</code> or <code>h</code> (e.g. <code>90s</code>).
+   */
+  public static Duration parseDuration(String value) {
+    final String trimmed = value.trim().toLowerCase(Locale.ROOT);
+    try {
+      if (trimmed.startsWith("p")) {
+        return Duration.parse(trimmed.toUpperCase(Locale.ROOT));
+      }
+      final Matcher matcher = DURATION.matcher(trimmed);
+      if (matcher.matches()) {
+        final long amount = Long.parseLong(matcher.group(1));
+        switch (matcher.group(2) == null ? "s" : matcher.group(2)) {
+          case "ms":
+            return Duration.ofMillis(amount);
+          case "m":
+            return Duration.ofMinutes(amount);
+          case "h":
+            return Duration.ofHours(amount);
+          default:
+            return Duration.ofSeconds(amount);
+        }
+      }
+    } catch (DateTimeParseException | NumberFormatException ex) {
+      // Reported below
+    }
+    throw new IllegalArgumentException(String.format(
+      "Invalid duration '%s', expected an amount with an optional unit (500ms, 90s, 10m, 1h) or an ISO-8601 duration (PT1H30M)",
+      value));
+  }
+
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  public static final class Wait implements AutoCloseable {
+
+    private final String name;
+    private final long timeoutMillis;
+    private final long startNanos;
+
+    private Wait(String name, long timeoutMillis) {
+      this.name = name;
+      this.timeoutMillis = timeoutMillis;
+      this.startNanos = System.nanoTime();
+    }
+
+    public long getTimeoutMillis() {
+      return timeoutMillis;
+    }
+
+    @Override
+    public void close() {
+      final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+      WaitStatistics.record(name, elapsed, timeoutMillis, elapsed >= timeoutMillis);
+    }
+  }
+}
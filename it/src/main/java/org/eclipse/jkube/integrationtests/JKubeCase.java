@@ -14,16 +14,31 @@
 package org.eclipse.jkube.integrationtests;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.RequestConfigBuilder;
-import io.fabric8.kubernetes.client.http.HttpResponse;
 import org.eclipse.jkube.integrationtests.jupiter.api.Application;
 import org.eclipse.jkube.integrationtests.jupiter.api.Report;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.CheckpointExtension;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.DeadlineExtension;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.DiagnosticsExtension;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.DurationRecorderExtension;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.LeakMonitorExtension;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ParallelismGovernorExtension;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.TestSelectionExtension;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.TierExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.net.http.HttpResponse;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 @Report
+@ExtendWith(TestSelectionExtension.class)
+@ExtendWith(TierExtension.class)
+@ExtendWith(CheckpointExtension.class)
+@ExtendWith(ParallelismGovernorExtension.class)
+@ExtendWith(DurationRecorderExtension.class)
+@ExtendWith(DeadlineExtension.class)
+@ExtendWith(LeakMonitorExtension.class)
+@ExtendWith(DiagnosticsExtension.class)
 public interface JKubeCase {
 
   String JKUBE_VERSION_SYSTEM_PROPERTY = "jkubeVersion";
@@ -38,14 +53,6 @@ public interface JKubeCase {
 
   // TODO: Move to KubernetesCase interface
   default HttpResponse<String> httpGet(String uri) throws InterruptedException, ExecutionException, TimeoutException {
-    final var requestConfig = new RequestConfigBuilder()
-      .withRequestRetryBackoffLimit(0)
-      .build();
-    final var client = getKubernetesClient().getHttpClient().newBuilder().tag(requestConfig).build();
-    return client.sendAsync(
-      client.newHttpRequestBuilder()
-      .uri(uri)
-      .build(), String.class)
-      .get(5, TimeUnit.SECONDS);
+    return SharedHttpClient.sharedHttpClient().get(uri);
   }
 }
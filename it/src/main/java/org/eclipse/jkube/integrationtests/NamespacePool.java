@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import io.fabric8.kubernetes.api.model.LimitRangeBuilder;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceQuotaBuilder;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+
+/**
+ * Pool of ready to use namespaces, so that test classes deploying the same application can run concurrently.
+ *
+ * <p> The pool creates <code>it.namespaces.pool</code> namespaces (4 by default) on first use, each with a
+ * ResourceQuota on requests (<code>it.namespaces.quota.cpu</code> and <code>it.namespaces.quota.memory</code>), a
+ * LimitRange with default requests, and its default ServiceAccount provisioned. A released namespace is deleted and
+ * replaced by a new one in the background, so test classes never pay the namespace creation latency. All the pooled namespaces are deleted once the suite completes.
+ *
+ * <p> Pooled namespaces are labeled with the ID of the run that created them, so that suites running concurrently
+ * against the same cluster never delete each other's namespaces. Namespaces left behind by interrupted runs are
+ * deleted once they're older than <code>it.namespaces.ttl</code> (6h by default).
+ *
+ * <p> Every lease comes with its own KubernetesClient bound to the leased namespace, test classes sharing a base
+ * class (and its fields) never see each other's client.
+ */
+public final class NamespacePool {
+
+  public static final String POOL_SIZE_PROPERTY = "it.namespaces.pool";
+  public static final String QUOTA_CPU_PROPERTY = "it.namespaces.quota.cpu";
+  public static final String QUOTA_MEMORY_PROPERTY = "it.namespaces.quota.memory";
+  public static final String TTL_PROPERTY = "it.namespaces.ttl";
+  private static final Logger log = LoggerFactory.getLogger(NamespacePool.class);
+  private static final String PREFIX = "jkube-it-";
+  private static final String POOL_LABEL = "jkube.eclipse.org/integration-tests-pool";
+  private static final long READY_TIMEOUT_SECONDS = 60L;
+  private static final String RUN_ID = UUID.randomUUID().toString().substring(0, 8);
+  private static final NamespacePool INSTANCE = new NamespacePool();
+
+  private final LinkedBlockingQueue<String> available;
+  private final Queue<String> created;
+  private final Map<Class<?>, Lease> leases;
+  private final Map<Class<?>, Object> leaseLocks;
+  private KubernetesClient kc;
+
+  private NamespacePool() {
+    available = new LinkedBlockingQueue<>();
+    created = new ConcurrentLinkedQueue<>();
+    leases = new ConcurrentHashMap<>();
+    leaseLocks = new ConcurrentHashMap<>();
+  }
+
+  public static NamespacePool namespacePool() {
+    return INSTANCE;
+  }
+
+  /**
+   * Leases a namespace for the provided test class (unless it already holds one), blocks until one is available.
+   */
+  public String lease(Class<?> testClass) throws InterruptedException {
+    synchronized (leaseLocks.computeIfAbsent(testClass, k -> new Object())) {
+      final Lease current = leases.get(testClass);
+      if (current != null) {
+        return current.namespace;
+      }
+      initialize();
+      final String namespace;
+      try (Deadline.Wait wait = Deadline.await("NamespacePool.lease", Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+        namespace = available.poll(wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+      }
+      if (namespace == null) {
+        throw new AssertionError("Deadline budget exhausted while waiting for a pooled namespace");
+      }
+      final Config config = Config.autoConfigure(null);
+      config.setNamespace(namespace);
+      leases.put(testClass, new Lease(namespace, new KubernetesClientBuilder().withConfig(config).build(),
+        ResourceTracker.track(testClass, "client", "KubernetesClient for pooled namespace " + namespace)));
+      log.info("Namespace {} leased to {}", namespace, testClass.getSimpleName());
+      return namespace;
+    }
+  }
+
+  /**
+   * The client of the namespace leased to the provided test class, the namespace is leased if needed.
+   */
+  public KubernetesClient client(Class<?> testClass) {
+    try {
+      lease(testClass);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while leasing a namespace for " + testClass.getSimpleName(), ex);
+    }
+    return leases.get(testClass).client;
+  }
+
+  /**
+   * Releases the namespace leased to the provided test class, the namespace is recycled asynchronously.
+   */
+  public void release(Class<?> testClass) {
+    final Lease lease;
+    synchronized (leaseLocks.computeIfAbsent(testClass, k -> new Object())) {
+      lease = leases.remove(testClass);
+    }
+    if (lease != null) {
+      lease.client.close();
+      lease.tracked.close();
+      CompletableFuture.runAsync(() -> {
+        delete(lease.namespace);
+        create();
+      }, executorService());
+    }
+  }
+
+  public static Optional<String> namespaceOf(Class<?> testClass) {
+    return Optional.ofNullable(INSTANCE.leases.get(testClass)).map(l -> l.namespace);
+  }
+
+  private synchronized void initialize() {
+    if (kc != null) {
+      return;
+    }
+    kc = new KubernetesClientBuilder().build();
+    final ResourceTracker.Handle tracked = ResourceTracker.track(null, "client", "NamespacePool KubernetesClient");
+    deleteExpired();
+    for (int it = 0; it < Integer.getInteger(POOL_SIZE_PROPERTY, 4); it++) {
+      CompletableFuture.runAsync(this::create, executorService());
+    }
+    ReportExtension.onClose(() -> {
+      created.forEach(this::delete);
+      kc.close();
+      tracked.close();
+    });
+  }
+
+  private void create() {
+    final String namespace = PREFIX + UUID.randomUUID().toString().substring(0, 8);
+    try {
+      created.add(namespace);
+      kc.namespaces().resource(new NamespaceBuilder()
+        .withNewMetadata().withName(namespace).addToLabels(POOL_LABEL, RUN_ID).endMetadata()
+        .build()).create();
+      kc.resourceQuotas().inNamespace(namespace).resource(new ResourceQuotaBuilder()
+        .withNewMetadata().withName("jkube-it-quota").endMetadata()
+        .withNewSpec()
+        .addToHard("requests.cpu", new Quantity(System.getProperty(QUOTA_CPU_PROPERTY, "4")))
+        .addToHard("requests.memory", new Quantity(System.getProperty(QUOTA_MEMORY_PROPERTY, "8Gi")))
+        .endSpec()
+        .build()).create();
+      // Quotas on requests reject containers without requests, default them (no limits are imposed)
+      kc.limitRanges().inNamespace(namespace).resource(new LimitRangeBuilder()
+        .withNewMetadata().withName("jkube-it-defaults").endMetadata()
+        .withNewSpec().addNewLimit()
+        .withType("Container")
+        .addToDefaultRequest("cpu", Resources.DEFAULT_CONTAINER_REQUESTS.getCpu())
+        .addToDefaultRequest("memory", Resources.DEFAULT_CONTAINER_REQUESTS.getMemory())
+        .endLimit().endSpec()
+        .build()).create();
+      // Pods can't be created until the ServiceAccount controller provisions the default ServiceAccount
+      kc.serviceAccounts().inNamespace(namespace).withName("default")
+        .waitUntilCondition(sa -> sa != null, READY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      available.add(namespace);
+      log.debug("Namespace {} ready", namespace);
+    } catch (Exception ex) {
+      log.warn("Unable to provision pooled namespace {}", namespace, ex);
+      delete(namespace);
+    }
+  }
+
+  /**
+   * Deletes the namespaces left behind by interrupted runs, those of runs that may still be in progress are kept.
+   */
+  private void deleteExpired() {
+    final Instant expiry = Instant.now().minus(Deadline.parseDuration(System.getProperty(TTL_PROPERTY, "6h")));
+    try {
+      for (Namespace namespace : kc.namespaces().withLabel(POOL_LABEL).list().getItems()) {
+        final String creationTimestamp = namespace.getMetadata().getCreationTimestamp();
+        if (creationTimestamp != null && Instant.parse(creationTimestamp).isBefore(expiry)) {
+          log.info("Deleting pooled namespace {} left behind by run {}", namespace.getMetadata().getName(),
+            namespace.getMetadata().getLabels().get(POOL_LABEL));
+          kc.namespaces().resource(namespace).delete();
+        }
+      }
+    } catch (Exception ex) {
+      log.warn("Unable to delete expired pooled namespaces", ex);
+    }
+  }
+
+  private void delete(String namespace) {
+    try {
+      created.remove(namespace);
+      kc.namespaces().withName(namespace).delete();
+    } catch (Exception ex) {
+      log.warn("Unable to delete pooled namespace {}", namespace, ex);
+    }
+  }
+
+  private static final class Lease {
+    private final String namespace;
+    private final KubernetesClient client;
+    private final ResourceTracker.Handle tracked;
+
+    private Lease(String namespace, KubernetesClient client, ResourceTracker.Handle tracked) {
+      this.namespace = namespace;
+      this.client = client;
+      this.tracked = tracked;
+    }
+  }
+}
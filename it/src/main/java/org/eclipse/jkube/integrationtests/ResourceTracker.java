@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the resources opened by the harness that must be released once a test completes (informers, polling
+ * loops, Maven invocations...).
+ *
+ * <p> Each resource records the stack trace of its allocation and the test class that opened it, so that leaks can
+ * be reported with their origin. The test class is either provided explicitly or taken from the {@link Deadline}
+ * attached to the allocating thread (which is propagated to the threads running on behalf of the test). Resources
+ * opened outside a test have no owner.
+ */
+public final class ResourceTracker {
+
+  private static final AtomicLong IDS = new AtomicLong();
+  private static final Map<Long, Tracked> TRACKED = new ConcurrentHashMap<>();
+
+  private ResourceTracker() { }
+
+  /**
+   * Tracks a resource until the provided supplier reports it as closed.
+   */
+  public static void track(String kind, String description, BooleanSupplier isOpen) {
+    track(Deadline.current().getTestClass(), kind, description, isOpen);
+  }
+
+  /**
+   * Tracks a resource opened by the provided test class until the provided supplier reports it as closed.
+   */
+  public static void track(Class<?> testClass, String kind, String description, BooleanSupplier isOpen) {
+    TRACKED.put(IDS.incrementAndGet(), new Tracked(kind, description, testClass, isOpen));
+  }
+
+  /**
+   * Tracks a Future (e.g. an informer returned by <code>informOnCondition</code>) until it's done or cancelled.
+   */
+  public static <F extends Future<?>> F track(String kind, String description, F future) {
+    track(Deadline.current().getTestClass(), kind, description, future);
+    return future;
+  }
+
+  /**
+   * Tracks a Future opened by the provided test class until it's done or cancelled.
+   */
+  public static <F extends Future<?>> F track(Class<?> testClass, String kind, String description, F future) {
+    final BooleanSupplier isOpen = () -> !future.isDone();
+    track(testClass, kind, description, isOpen);
+    return future;
+  }
+
+  /**
+   * Tracks a resource that can't report whether it's open (e.g. a KubernetesClient) until the returned handle is
+   * closed.
+   */
+  public static Handle track(String kind, String description) {
+    return track(Deadline.current().getTestClass(), kind, description);
+  }
+
+  /**
+   * Tracks a resource opened by the provided test class until the returned handle is closed.
+   */
+  public static Handle track(Class<?> testClass, String kind, String description) {
+    final AtomicBoolean closed = new AtomicBoolean(false);
+    final BooleanSupplier isOpen = () -> !closed.get();
+    track(testClass, kind, description, isOpen);
+    return () -> closed.set(true);
+  }
+
+  /**
+   * Returns the resources opened by the provided test class (null for the resources without owner) that are still
+   * open, closed resources are discarded.
+   */
+  public static List<Tracked> open(Class<?> testClass) {
+    TRACKED.values().removeIf(t -> !t.isOpen());
+    return TRACKED.values().stream()
+      .filter(t -> Objects.equals(t.getOwner(), testClass))
+      .collect(Collectors.toList());
+  }
+
+  @FunctionalInterface
+  public interface Handle extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  public static final class Tracked {
+
+    private final String kind;
+    private final String description;
+    private final Class<?> owner;
+    private final BooleanSupplier isOpen;
+    private final Throwable allocation;
+
+    private Tracked(String kind, String description, Class<?> owner, BooleanSupplier isOpen) {
+      this.kind = kind;
+      this.description = description;
+      this.owner = owner;
+      this.isOpen = isOpen;
+      this.allocation = new Throwable("Allocated by " + (owner == null ? "the suite" : owner.getName()));
+    }
+
+    public String getKind() {
+      return kind;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    /**
+     * The test class that opened the resource, null if it was opened outside a test.
+     */
+    public Class<?> getOwner() {
+      return owner;
+    }
+
+    public boolean isOpen() {
+      return isOpen.getAsBoolean();
+    }
+
+    public StackTraceElement[] getAllocationStackTrace() {
+      return allocation.getStackTrace();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+
+import java.math.BigDecimal;
+
+/**
+ * CPU and memory amounts used to size applications and the cluster.
+ */
+public final class Resources {
+
+  public static final Resources NONE = new Resources(0L, 0L);
+  /**
+   * Requests of the containers that don't declare any, enforced by the LimitRange of the pooled namespaces.
+   */
+  public static final Resources DEFAULT_CONTAINER_REQUESTS = new Resources(100L, 256L * 1024 * 1024);
+
+  private final long cpuMillis;
+  private final long memoryBytes;
+
+  public Resources(long cpuMillis, long memoryBytes) {
+    this.cpuMillis = cpuMillis;
+    this.memoryBytes = memoryBytes;
+  }
+
+  public long getCpuMillis() {
+    return cpuMillis;
+  }
+
+  public long getMemoryBytes() {
+    return memoryBytes;
+  }
+
+  public boolean isEmpty() {
+    return cpuMillis == 0L && memoryBytes == 0L;
+  }
+
+  public Quantity getCpu() {
+    return new Quantity(cpuMillis + "m");
+  }
+
+  public Quantity getMemory() {
+    return new Quantity(String.valueOf(memoryBytes));
+  }
+
+  public Resources plus(Resources other) {
+    return new Resources(cpuMillis + other.cpuMillis, memoryBytes + other.memoryBytes);
+  }
+
+  public Resources times(int factor) {
+    return new Resources(cpuMillis * factor, memoryBytes * factor);
+  }
+
+  public boolean fitsIn(Resources capacity) {
+    return cpuMillis <= capacity.cpuMillis && memoryBytes <= capacity.memoryBytes;
+  }
+
+  public static long millis(Quantity cpu) {
+    if (cpu == null) {
+      return 0L;
+    }
+    return Quantity.getAmountInBytes(cpu).multiply(BigDecimal.valueOf(1000)).longValue();
+  }
+
+  public static long bytes(Quantity memory) {
+    if (memory == null) {
+      return 0L;
+    }
+    return Quantity.getAmountInBytes(memory).longValue();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("cpu=%sm, memory=%sMi", cpuMillis, memoryBytes / (1024 * 1024));
+  }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.Tier;
+import org.eclipse.jkube.integrationtests.parallel.Tiers;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DynamicTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+import static org.eclipse.jkube.integrationtests.StageGraph.stageGraph;
+
+/**
+ * Runs the JKube goals of a test class as a dependency graph instead of a sequence of ordered tests.
+ *
+ * <p> Every goal starts as soon as the goals it depends on complete, goals of disabled {@link Tiers tiers} are skipped.
+ * Each goal is reported as a dynamic test, goals depending on a failed one are reported as aborted. The critical
+ * path of the scenario is added to the test report.
+ *
+ * <pre>
+ * &#64;TestFactory
+ * Stream&lt;DynamicTest&gt; scenario() {
+ *   return scenario("my-app")
+ *     .goal("k8s:build", "should create image", this::k8sBuild)
+ *     .goal("k8s:resource", "should create manifests", this::k8sResource)
+ *     .goal("k8s:apply", "should deploy pod and service", this::k8sApply, "k8s:build", "k8s:resource")
+ *     .dynamicTests();
+ * }
+ * </pre>
+ */
+public final class Scenario {
+
+  private final String name;
+  private final Map<String, Goal> goals;
+  private CompletableFuture<Void> execution;
+
+  private Scenario(String name) {
+    this.name = name;
+    this.goals = new LinkedHashMap<>();
+  }
+
+  public static Scenario scenario(String name) {
+    return new Scenario(name);
+  }
+
+  /**
+   * Adds a goal to the scenario.
+   *
+   * @param goalName unique name of the goal, the tier is inferred from it (e.g. <code>k8s:resource</code>).
+   * @param description what the goal should do, displayed along with the name.
+   * @param step the goal invocation and its assertions.
+   * @param dependencies names of the (previously added) goals that must complete before this one starts.
+   */
+  public Scenario goal(String goalName, String description, Step step, String... dependencies) {
+    if (goals.containsKey(goalName)) {
+      throw new IllegalArgumentException("Duplicate goal: " + goalName);
+    }
+    for (String dependency : dependencies) {
+      if (!goals.containsKey(dependency)) {
+        throw new IllegalArgumentException("Goal '" + goalName + "' depends on unknown goal '" + dependency + "'");
+      }
+    }
+    goals.put(goalName, new Goal(goalName, description, step, dependencies));
+    return this;
+  }
+
+  /**
+   * One dynamic test per goal, in declaration order. The scenario starts with the first test, every test completes
+   * when its goal does.
+   */
+  public Stream<DynamicTest> dynamicTests() {
+    return new ArrayList<>(goals.values()).stream()
+      .map(goal -> DynamicTest.dynamicTest(goal.name + ", " + goal.description, () -> await(goal)));
+  }
+
+  private void await(Goal goal) throws Throwable {
+    start();
+    try (Deadline.Wait budget = Deadline.await("Scenario.goal", Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+      goal.outcome.get(budget.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      throw new AssertionError(String.format("Deadline budget exhausted while waiting for goal '%s' of scenario %s",
+        goal.name, name), ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof Skipped) {
+        Assumptions.abort(ex.getCause().getMessage());
+      }
+      throw ex.getCause();
+    }
+  }
+
+  private synchronized void start() {
+    if (execution != null) {
+      return;
+    }
+    final StageGraph graph = stageGraph(name);
+    final Set<String> disabled = new HashSet<>();
+    for (Goal goal : goals.values()) {
+      if (!Tiers.isEnabled(goal.tier) || Arrays.stream(goal.dependencies).anyMatch(disabled::contains)) {
+        // Goals of disabled tiers (and their dependents) are left out of the graph
+        disabled.add(goal.name);
+        goal.outcome.completeExceptionally(new Skipped(String.format("Goal '%s' skipped, %s tier not enabled (%s)",
+          goal.name, goal.tier, Tiers.TIERS_PROPERTY)));
+        continue;
+      }
+      graph.stage(goal.name, results -> {
+        goal.run();
+        return null;
+      }, goal.dependencies);
+    }
+    final Deadline deadline = Deadline.current();
+    execution = ResourceTracker.track("scenario", name, CompletableFuture.runAsync(() -> {
+      try (Deadline.Scope ignore = deadline.attach()) {
+        graph.execute();
+      } catch (Exception ex) {
+        // Reported by the failed goal
+      } finally {
+        // The graph waits for every started goal, so only the goals that never started are left to settle
+        final String failed = goals.values().stream()
+          .filter(g -> g.started && g.outcome.isCompletedExceptionally())
+          .map(g -> g.name).findFirst().orElse("a previous goal");
+        goals.values().stream().filter(g -> !g.started).forEach(g -> g.outcome.completeExceptionally(
+          new Skipped(String.format("Goal '%s' not started, %s failed", g.name, failed))));
+      }
+    }, executorService()));
+  }
+
+  @FunctionalInterface
+  public interface Step {
+    void run() throws Exception;
+  }
+
+  private static final class Goal {
+    private final String name;
+    private final String description;
+    private final Step step;
+    private final String[] dependencies;
+    private final Tier.Level tier;
+    private final CompletableFuture<Void> outcome;
+    private volatile boolean started;
+
+    private Goal(String name, String description, Step step, String[] dependencies) {
+      this.name = name;
+      this.description = description;
+      this.step = step;
+      this.dependencies = dependencies;
+      this.tier = Tiers.tierOf(name);
+      this.outcome = new CompletableFuture<>();
+    }
+
+    private void run() throws Exception {
+      started = true;
+      Tiers.record(tier);
+      try {
+        step.run();
+        outcome.complete(null);
+      } catch (Exception | Error ex) {
+        outcome.completeExceptionally(ex);
+        throw ex;
+      }
+    }
+  }
+
+  private static final class Skipped extends Exception {
+    private Skipped(String message) {
+      super(message, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+
+/**
+ * The HTTP client shared by every test of the suite to reach the deployed applications and registries.
+ *
+ * <p> Connections are pooled and kept alive across requests (and tests), HTTP/2 is used where the server supports it.
+ * The number of concurrent requests per host is limited by <code>it.http.maxConnectionsPerHost</code> (8 by
+ * default), requests time out after <code>it.http.timeout</code> (5 seconds by default). The number of requests,
+ * errors and latency percentiles of every host are added to the test report.
+ */
+public final class SharedHttpClient {
+
+  public static final String TIMEOUT_PROPERTY = "it.http.timeout";
+  public static final String MAX_CONNECTIONS_PER_HOST_PROPERTY = "it.http.maxConnectionsPerHost";
+  private static final String REPORT_SECTION = "HTTP client (requests, errors, p50, p90, max)";
+  private static final SharedHttpClient INSTANCE = new SharedHttpClient();
+
+  private final HttpClient client;
+  private final Duration timeout;
+  private final int maxConnectionsPerHost;
+  private final Map<String, Semaphore> hosts;
+  private final Map<String, Metrics> metrics;
+
+  private SharedHttpClient() {
+    timeout = Deadline.parseDuration(System.getProperty(TIMEOUT_PROPERTY, "5s"));
+    maxConnectionsPerHost = Integer.getInteger(MAX_CONNECTIONS_PER_HOST_PROPERTY, 8);
+    client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_2)
+      .followRedirects(HttpClient.Redirect.NORMAL)
+      .connectTimeout(timeout)
+      .executor(executorService())
+      .build();
+    hosts = new ConcurrentHashMap<>();
+    metrics = new ConcurrentSkipListMap<>();
+    ReportExtension.onClose(this::report);
+  }
+
+  public static SharedHttpClient sharedHttpClient() {
+    return INSTANCE;
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * GET request to the provided URI with the configured timeout.
+   */
+  public HttpResponse<String> get(String uri) throws InterruptedException, ExecutionException, TimeoutException {
+    return get(uri, timeout.toMillis());
+  }
+
+  /**
+   * GET request to the provided URI, waiting for a connection slot of the host and the response up to the provided
+   * timeout.
+   */
+  public HttpResponse<String> get(String uri, long timeoutMillis)
+    throws InterruptedException, ExecutionException, TimeoutException {
+
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    final URI target = URI.create(uri);
+    final String host = target.getAuthority();
+    final Semaphore slots = hosts.computeIfAbsent(host, h -> new Semaphore(maxConnectionsPerHost, true));
+    if (!slots.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+      throw new TimeoutException(String.format("No connection to %s available in %sms", host, timeoutMillis));
+    }
+    final Metrics hostMetrics = metrics.computeIfAbsent(host, h -> new Metrics());
+    final long start = System.nanoTime();
+    final long remaining = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - start));
+    final CompletableFuture<HttpResponse<String>> response = client.sendAsync(HttpRequest.newBuilder(target)
+        .timeout(Duration.ofMillis(remaining))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString())
+      .whenComplete((r, ex) -> {
+        slots.release();
+        hostMetrics.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), ex != null);
+      });
+    try {
+      return response.get(remaining, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException | InterruptedException ex) {
+      response.cancel(true);
+      throw ex;
+    }
+  }
+
+  /**
+   * Non-blocking GET request to the provided URI with the configured timeout, for load generation.
+   *
+   * <p> These requests share the connection pool but neither wait for a connection slot of the host nor are
+   * accounted in the metrics, the caller is responsible for bounding their concurrency.
+   */
+  public CompletableFuture<HttpResponse<String>> sendAsync(String uri) {
+    return client.sendAsync(HttpRequest.newBuilder(URI.create(uri)).timeout(timeout).GET().build(),
+      HttpResponse.BodyHandlers.ofString());
+  }
+
+  /**
+   * Request count of every host so far.
+   */
+  public Map<String, Long> getRequestCounts() {
+    final Map<String, Long> counts = new ConcurrentSkipListMap<>();
+    metrics.forEach((host, m) -> counts.put(host, m.requests.get()));
+    return counts;
+  }
+
+  /**
+   * Latencies (milliseconds) of the requests to the provided host so far.
+   */
+  public List<Long> getLatencies(String host) {
+    final Metrics hostMetrics = metrics.get(host);
+    return hostMetrics == null ? new ArrayList<>() : new ArrayList<>(hostMetrics.latencies);
+  }
+
+  private void report() {
+    metrics.forEach((host, m) -> {
+      final long[] sorted = m.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+      ReportExtension.addToReport(REPORT_SECTION, String.format("%s: %s, %s, %sms, %sms, %sms", host,
+        m.requests.get(), m.errors.get(), WaitStatistics.percentile(sorted, 50), WaitStatistics.percentile(sorted, 90),
+        WaitStatistics.percentile(sorted, 100)));
+    });
+  }
+
+  private static final class Metrics {
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+    private void record(long latencyMillis, boolean error) {
+      requests.incrementAndGet();
+      if (error) {
+        errors.incrementAndGet();
+      }
+      latencies.add(latencyMillis);
+    }
+  }
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Runs a set of named stages as a dependency graph of futures.
+ *
+ * <p> Every stage starts as soon as all of its dependencies complete, so independent stages overlap and the
+ * graph costs as much as its slowest path instead of the sum of all of its stages.
+ *
+ * <p> The first failing stage fails the whole graph: stages that haven't started yet never start, stages that are
+ * already running aren't interrupted and {@link #execute()} waits for them to complete before it fails.
+ */
+public class StageGraph {
+
+  private static final Logger log = LoggerFactory.getLogger(StageGraph.class);
+
+  private final String name;
+  private final Map<String, StageDefinition<?>> definitions;
+
+  private StageGraph(String name) {
+    this.name = name;
+    this.definitions = new LinkedHashMap<>();
+  }
+
+  public static StageGraph stageGraph(String name) {
+    return new StageGraph(name);
+  }
+
+  /**
+   * Adds a stage to the graph.
+   *
+   * @param stageName unique name of the stage.
+   * @param task the task to run, it can access the results of its dependencies.
+   * @param dependencies names of the (previously added) stages that must complete before this one starts.
+   */
+  public <T> StageGraph stage(String stageName, Task<T> task, String... dependencies) {
+    if (definitions.containsKey(stageName)) {
+      throw new IllegalArgumentException("Duplicate stage: " + stageName);
+    }
+    for (String dependency : dependencies) {
+      if (!definitions.containsKey(dependency)) {
+        throw new IllegalArgumentException("Stage '" + stageName + "' depends on unknown stage '" + dependency + "'");
+      }
+    }
+    definitions.put(stageName, new StageDefinition<>(stageName, task, dependencies));
+    return this;
+  }
+
+  public Result execute() throws Exception {
+    final long graphStart = System.nanoTime();
+    final Deadline deadline = Deadline.current();
+    final Map<String, Stage> stages = new LinkedHashMap<>();
+    final Results results = new Results(stages);
+    final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+    for (StageDefinition<?> definition : definitions.values()) {
+      final CompletableFuture<?>[] dependencyFutures = definition.dependencies.stream()
+        .map(d -> stages.get(d).future).toArray(CompletableFuture[]::new);
+      final Stage stage = new Stage(definition);
+      stage.future = CompletableFuture.allOf(dependencyFutures)
+        .thenApplyAsync(v -> {
+          try (Deadline.Scope ignore = deadline.attach()) {
+            return stage.run(results, graphStart);
+          }
+        }, executorService());
+      stage.future.whenComplete((r, t) -> {
+        if (t != null) {
+          firstFailure.completeExceptionally(t);
+        }
+      });
+      stages.put(definition.name, stage);
+    }
+    final CompletableFuture<Void> all = CompletableFuture.allOf(
+      stages.values().stream().map(s -> s.future).toArray(CompletableFuture[]::new));
+    try {
+      CompletableFuture.anyOf(all, firstFailure).get();
+    } catch (ExecutionException ex) {
+      final List<CompletableFuture<Void>> running = new ArrayList<>();
+      for (Stage stage : stages.values()) {
+        if (stage.abort()) {
+          running.add(stage.finished);
+        } else {
+          stage.future.cancel(false);
+        }
+      }
+      CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).join();
+      throw unwrap(ex);
+    }
+    final Result result = new Result(name, new ArrayList<>(stages.values()), System.nanoTime() - graphStart);
+    log.info("{}", result);
+    addToReport("Stage graphs (critical path)", result.toString());
+    return result;
+  }
+
+  private static Exception unwrap(Throwable throwable) {
+    Throwable cause = throwable;
+    while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    if (cause instanceof Exception) {
+      return (Exception) cause;
+    }
+    return new IllegalStateException(cause);
+  }
+
+  @FunctionalInterface
+  public interface Task<T> {
+    T run(Results results) throws Exception;
+  }
+
+  public static final class Results {
+
+    private final Map<String, Stage> stages;
+
+    private Results(Map<String, Stage> stages) {
+      this.stages = stages;
+    }
+
+    public <T> T get(String stageName, Class<T> type) {
+      final Stage stage = stages.get(stageName);
+      if (stage == null || !stage.future.isDone()) {
+        throw new IllegalStateException("Stage '" + stageName + "' is not a completed dependency");
+      }
+      return type.cast(stage.future.join());
+    }
+  }
+
+  private static final class StageDefinition<T> {
+    private final String name;
+    private final Task<T> task;
+    private final List<String> dependencies;
+
+    private StageDefinition(String name, Task<T> task, String... dependencies) {
+      this.name = name;
+      this.task = task;
+      this.dependencies = List.of(dependencies);
+    }
+  }
+
+  private static final class Stage {
+    private final StageDefinition<?> definition;
+    private final CompletableFuture<Void> finished;
+    private CompletableFuture<Object> future;
+    private boolean started;
+    private boolean aborted;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    private Stage(StageDefinition<?> definition) {
+      this.definition = definition;
+      this.finished = new CompletableFuture<>();
+    }
+
+    /**
+     * Prevents the stage from starting.
+     *
+     * @return true if the stage had already started (it will complete on its own).
+     */
+    private synchronized boolean abort() {
+      aborted = true;
+      return started;
+    }
+
+    private Object run(Results results, long graphStart) {
+      synchronized (this) {
+        if (aborted) {
+          throw new CancellationException("Stage '" + definition.name + "' not started, a previous stage failed");
+        }
+        started = true;
+      }
+      startNanos = System.nanoTime() - graphStart;
+      try {
+        return definition.task.run(results);
+      } catch (RuntimeException | Error ex) {
+        throw ex;
+      } catch (Exception ex) {
+        throw new CompletionException(ex);
+      } finally {
+        endNanos = System.nanoTime() - graphStart;
+        finished.complete(null);
+      }
+    }
+  }
+
+  public static final class Result {
+
+    private final String name;
+    private final List<Stage> stages;
+    private final long totalNanos;
+
+    private Result(String name, List<Stage> stages, long totalNanos) {
+      this.name = name;
+      this.stages = stages;
+      this.totalNanos = totalNanos;
+    }
+
+    public <T> T get(String stageName, Class<T> type) {
+      return stages.stream().filter(s -> s.definition.name.equals(stageName)).findFirst()
+        .map(s -> type.cast(s.future.join()))
+        .orElseThrow(() -> new IllegalArgumentException("Unknown stage: " + stageName));
+    }
+
+    public Duration getTotal() {
+      return Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * Sum of the individual stage durations, i.e. what the graph would have cost if run sequentially.
+     */
+    public Duration getSequentialTotal() {
+      return Duration.ofNanos(stages.stream().mapToLong(s -> s.endNanos - s.startNanos).sum());
+    }
+
+    public Duration getDuration(String stageName) {
+      return stages.stream().filter(s -> s.definition.name.equals(stageName)).findFirst()
+        .map(s -> Duration.ofNanos(s.endNanos - s.startNanos))
+        .orElseThrow(() -> new IllegalArgumentException("Unknown stage: " + stageName));
+    }
+
+    /**
+     * The chain of stages that determined the total duration of the graph (the last stage to finish and,
+     * recursively, its latest finishing dependency).
+     */
+    public List<String> getCriticalPath() {
+      final Map<String, Stage> byName = stages.stream()
+        .collect(Collectors.toMap(s -> s.definition.name, s -> s, (a, b) -> a, LinkedHashMap::new));
+      final List<String> path = new ArrayList<>();
+      Stage current = stages.stream().max((a, b) -> Long.compare(a.endNanos, b.endNanos)).orElse(null);
+      while (current != null) {
+        path.add(current.definition.name);
+        current = current.definition.dependencies.stream().map(byName::get)
+          .max((a, b) -> Long.compare(a.endNanos, b.endNanos)).orElse(null);
+      }
+      Collections.reverse(path);
+      return path;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s completed in %sms (sequential %sms), critical path: %s",
+        name, getTotal().toMillis(), getSequentialTotal().toMillis(),
+        getCriticalPath().stream()
+          .map(s -> String.format("%s (%sms)", s, getDuration(s).toMillis()))
+          .collect(Collectors.joining(" -> ")));
+    }
+  }
+}
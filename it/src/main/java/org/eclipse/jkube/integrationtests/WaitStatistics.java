@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Records the actual duration of every {@link Deadline.Wait} so that timeouts and budgets can be tuned from data.
+ *
+ * <p> Raw samples are written to <code>target/jkube-wait-times.csv</code> and a per-wait summary is added to the
+ * test report.
+ */
+public class WaitStatistics {
+
+  private static final String REPORT_SECTION = "Wait times (count, p50, p90, max, timeouts)";
+  private static final Map<String, Queue<Sample>> SAMPLES = new ConcurrentSkipListMap<>();
+
+  static {
+    ReportExtension.onClose(WaitStatistics::flush);
+  }
+
+  private WaitStatistics() { }
+
+  public static void record(String name, long elapsedMillis, long timeoutMillis, boolean timedOut) {
+    SAMPLES.computeIfAbsent(name, k -> new ConcurrentLinkedQueue<>())
+      .add(new Sample(elapsedMillis, timeoutMillis, timedOut));
+  }
+
+  private static void flush() throws IOException {
+    final List<String> csv = new ArrayList<>();
+    csv.add("wait,elapsedMillis,timeoutMillis,timedOut");
+    for (Map.Entry<String, Queue<Sample>> entry : SAMPLES.entrySet()) {
+      final List<Sample> samples = new ArrayList<>(entry.getValue());
+      samples.forEach(s -> csv.add(String.format("%s,%s,%s,%s", entry.getKey(), s.elapsedMillis, s.timeoutMillis, s.timedOut)));
+      final long[] sorted = samples.stream().mapToLong(s -> s.elapsedMillis).sorted().toArray();
+      ReportExtension.addToReport(REPORT_SECTION, String.format("%s: %s, %sms, %sms, %sms, %s",
+        entry.getKey(), sorted.length, percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 100),
+        samples.stream().filter(s -> s.timedOut).count()));
+    }
+    Files.write(new File("target", "jkube-wait-times.csv").toPath(), csv, StandardCharsets.UTF_8);
+  }
+
+  static long percentile(long[] sorted, int percentile) {
+    if (sorted.length == 0) {
+      return 0L;
+    }
+    final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+  }
+
+  private static final class Sample {
+    private final long elapsedMillis;
+    private final long timeoutMillis;
+    private final boolean timedOut;
+
+    private Sample(long elapsedMillis, long timeoutMillis, boolean timedOut) {
+      this.elapsedMillis = elapsedMillis;
+      this.timeoutMillis = timeoutMillis;
+      this.timedOut = timedOut;
+    }
+  }
+}
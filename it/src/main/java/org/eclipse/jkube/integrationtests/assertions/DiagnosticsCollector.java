@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.eclipse.jkube.integrationtests.Deadline;
+import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.ResourceTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+import static org.eclipse.jkube.integrationtests.cli.CliUtils.runCommand;
+
+/**
+ * Gathers a diagnostic snapshot of the cluster state for a failed test, collected by the
+ * {@link org.eclipse.jkube.integrationtests.jupiter.api.extension.DiagnosticsExtension} whatever made the test fail.
+ *
+ * <p> Pods, events, container log tails, Deployment/DeploymentConfig/Route status and disk stats are collected
+ * concurrently. Whatever is not available once the time cap (<code>it.diagnostics.timeout</code>, 20s by default)
+ * expires is recorded as timed out. The snapshot is written to a zip file in <code>target/diagnostics</code> instead
+ * of being printed, so it doesn't interleave with the output of other tests.
+ */
+public final class DiagnosticsCollector {
+
+  private static final Logger log = LoggerFactory.getLogger(DiagnosticsCollector.class);
+  private static final String TIMEOUT_PROPERTY = "it.diagnostics.timeout";
+  private static final String DEFAULT_TIMEOUT = "20s";
+  private static final int LOG_TAIL_LINES = 200;
+  private static final String NOT_OPENSHIFT = "Not available, the cluster is not OpenShift";
+  private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+  private final JKubeCase jKubeCase;
+  private final String test;
+  private final KubernetesClient kc;
+  private final Map<String, CompletableFuture<String>> entries;
+
+  private DiagnosticsCollector(JKubeCase jKubeCase, String test) {
+    this.jKubeCase = jKubeCase;
+    this.test = test;
+    this.kc = jKubeCase.getKubernetesClient();
+    this.entries = new ConcurrentSkipListMap<>();
+  }
+
+  /**
+   * Collects the diagnostics for the provided failed test and returns a short message pointing to the bundle.
+   */
+  public static String collectDiagnostics(JKubeCase jKubeCase, String test) {
+    try {
+      final File bundle = new DiagnosticsCollector(jKubeCase, test).collect();
+      log.info("Diagnostics for '{}' written to {}", jKubeCase.getApplication(), bundle.getAbsolutePath());
+      return String.format("Diagnostics for '%s' written to %s", jKubeCase.getApplication(), bundle.getAbsolutePath());
+    } catch (IOException ex) {
+      log.warn("Unable to write diagnostics for {}", jKubeCase.getApplication(), ex);
+      return "Unable to write diagnostics: " + ex.getMessage();
+    }
+  }
+
+  private File collect() throws IOException {
+    final long timeoutMillis = Deadline.parseDuration(System.getProperty(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT)).toMillis();
+    final CompletableFuture<List<Pod>> pods = ResourceTracker.track(jKubeCase.getClass(), "diagnostics",
+      "DiagnosticsCollector pods", CompletableFuture.supplyAsync(() -> kc.pods().list().getItems(), executorService()));
+    entries.put("pods.yaml", pods.thenApply(kc.getKubernetesSerialization()::asYaml));
+    entries.put("events.txt", async(this::events));
+    entries.put("deployment.yaml", async(this::deploymentStatus));
+    entries.put("disk.txt", async(DiagnosticsCollector::diskStats));
+    entries.put("deploymentconfig.yaml", async(this::deploymentConfigStatus));
+    entries.put("route.yaml", async(this::routeStatus));
+    final CompletableFuture<Void> logs = pods.thenCompose(pl -> CompletableFuture.allOf(pl.stream()
+      .flatMap(p -> p.getSpec().getContainers().stream().map(c -> logTail(p, c)))
+      .toArray(CompletableFuture[]::new)));
+    try {
+      CompletableFuture.allOf(logs, CompletableFuture.allOf(entries.values().toArray(new CompletableFuture[0])))
+        .get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException ex) {
+      // Partial results are written, failed or pending entries are reported in their own file
+    }
+    return write(timeoutMillis);
+  }
+
+  private CompletableFuture<String> logTail(Pod pod, Container container) {
+    final CompletableFuture<String> tail = async(() -> kc.pods()
+      .inNamespace(pod.getMetadata().getNamespace())
+      .withName(pod.getMetadata().getName())
+      .inContainer(container.getName())
+      .tailingLines(LOG_TAIL_LINES)
+      .getLog());
+    entries.put(String.format("logs/%s/%s.log", pod.getMetadata().getName(), container.getName()), tail);
+    return tail;
+  }
+
+  private String events() {
+    return kc.v1().events().list().getItems().stream()
+      .sorted(Comparator.comparing(DiagnosticsCollector::eventTimestamp))
+      .map(e -> String.format("%s %s %s/%s %s: %s", eventTimestamp(e), e.getType(),
+        e.getInvolvedObject().getKind(), e.getInvolvedObject().getName(), e.getReason(), e.getMessage()))
+      .collect(Collectors.joining(System.lineSeparator()));
+  }
+
+  private static String eventTimestamp(Event event) {
+    return Objects.toString(event.getLastTimestamp(), Objects.toString(event.getEventTime(), ""));
+  }
+
+  private String deploymentStatus() {
+    return kc.getKubernetesSerialization().asYaml(kc.apps().deployments().withName(jKubeCase.getApplication()).get());
+  }
+
+  private String deploymentConfigStatus() {
+    if (!isOpenShift()) {
+      return NOT_OPENSHIFT;
+    }
+    final DeploymentConfig dc = kc.adapt(OpenShiftClient.class).deploymentConfigs()
+      .withName(jKubeCase.getApplication()).get();
+    return kc.getKubernetesSerialization().asYaml(dc);
+  }
+
+  private String routeStatus() {
+    if (!isOpenShift()) {
+      return NOT_OPENSHIFT;
+    }
+    final Route route = kc.adapt(OpenShiftClient.class).routes().withName(jKubeCase.getApplication()).get();
+    return kc.getKubernetesSerialization().asYaml(route);
+  }
+
+  private static String diskStats() {
+    try {
+      return String.format("$ df -h%n%s%n$ df -hi%n%s", runCommand("df -h").getOutput(), runCommand("df -hi").getOutput());
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private boolean isOpenShift() {
+    return kc.adapt(OpenShiftClient.class).supports(DeploymentConfig.class);
+  }
+
+  private File write(long timeoutMillis) throws IOException {
+    final File directory = new File("target", "diagnostics");
+    Files.createDirectories(directory.toPath());
+    final File bundle = new File(directory, String.format("%s-%s.zip",
+      test.replaceAll("[^A-Za-z0-9.-]+", "_"), LocalDateTime.now().format(TIMESTAMP)));
+    final List<String> incomplete = new ArrayList<>();
+    try (OutputStream os = Files.newOutputStream(bundle.toPath()); ZipOutputStream zip = new ZipOutputStream(os)) {
+      for (Map.Entry<String, CompletableFuture<String>> entry : entries.entrySet()) {
+        final CompletableFuture<String> future = entry.getValue();
+        if (!future.isDone()) {
+          future.cancel(true);
+          incomplete.add(String.format("%s: timed out after %sms", entry.getKey(), timeoutMillis));
+        } else if (future.isCompletedExceptionally()) {
+          incomplete.add(String.format("%s: %s", entry.getKey(), future.handle((r, ex) -> ex).join()));
+        } else {
+          writeEntry(zip, entry.getKey(), Objects.toString(future.join(), ""));
+        }
+      }
+      if (!incomplete.isEmpty()) {
+        writeEntry(zip, "incomplete.txt", String.join(System.lineSeparator(), incomplete));
+      }
+    }
+    return bundle;
+  }
+
+  private static void writeEntry(ZipOutputStream zip, String name, String content) throws IOException {
+    zip.putNextEntry(new ZipEntry(name));
+    zip.write(content.getBytes(StandardCharsets.UTF_8));
+    zip.closeEntry();
+  }
+
+  private CompletableFuture<String> async(Supplier<String> supplier) {
+    return ResourceTracker.track(jKubeCase.getClass(), "diagnostics", "DiagnosticsCollector task",
+      CompletableFuture.supplyAsync(supplier, executorService()));
+  }
+}
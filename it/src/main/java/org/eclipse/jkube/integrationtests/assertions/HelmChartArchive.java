@@ -0,0 +1,355 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * A packaged Helm chart (<code>.tar</code>, <code>.tar.gz</code>/<code>.tgz</code> or <code>.zip</code>) read in
+ * memory in a single pass, without extracting it.
+ *
+ * <p> Entries are indexed by their path relative to the chart root (e.g. <code>Chart.yaml</code>,
+ * <code>templates/my-app-service.yaml</code>) and YAML entries are parsed on demand.
+ *
+ * <pre>
+ * final HelmChartArchive archive = HelmChartArchive.inspect(chartFile);
+ * archive.assertMatchesDirectory(helmDirectory);
+ * assertThat(archive.yaml("Chart.yaml"), hasEntry("name", "my-app"));
+ * </pre>
+ */
+public final class HelmChartArchive {
+
+  private static final String REPORT_SECTION = "Helm chart archives (size, entries, uncompressed size, ratio)";
+  private static final int TAR_BLOCK = 512;
+  private static final List<String> ARCHIVE_EXTENSIONS = Arrays.asList(".tar", ".tar.gz", ".tgz", ".zip");
+
+  private final File file;
+  private final Map<String, Entry> entries;
+  private final Map<String, Object> documents;
+
+  private HelmChartArchive(File file, Map<String, Entry> entries) {
+    this.file = file;
+    this.entries = Collections.unmodifiableMap(entries);
+    this.documents = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Reads the archive and adds its size and compression to the test report.
+   */
+  public static HelmChartArchive inspect(File archive) throws IOException {
+    final List<Entry> read;
+    try (InputStream is = new BufferedInputStream(Files.newInputStream(archive.toPath()))) {
+      is.mark(2);
+      final int first = is.read();
+      final int second = is.read();
+      is.reset();
+      if (first == 'P' && second == 'K') {
+        read = readZip(is);
+      } else if (first == 0x1f && second == 0x8b) {
+        read = readTar(new GZIPInputStream(is));
+      } else {
+        read = readTar(is);
+      }
+    }
+    final HelmChartArchive chart = new HelmChartArchive(archive, index(read));
+    chart.report();
+    return chart;
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public Map<String, Entry> getEntries() {
+    return entries;
+  }
+
+  public byte[] content(String path) {
+    return entry(path).content.clone();
+  }
+
+  /**
+   * The parsed (unmodifiable) YAML document of the provided entry.
+   */
+  public Object document(String path) throws IOException {
+    final Object cached = documents.get(path);
+    if (cached != null) {
+      return cached;
+    }
+    final Object parsed = YamlDocuments.unmodifiable(YamlDocuments.YAML_MAPPER.readValue(entry(path).content, Object.class));
+    documents.put(path, parsed == null ? Collections.emptyMap() : parsed);
+    return documents.get(path);
+  }
+
+  /**
+   * The parsed YAML map of the provided entry (e.g. <code>Chart.yaml</code>).
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, Object> yaml(String path) throws IOException {
+    final Object document = document(path);
+    if (!(document instanceof Map)) {
+      throw new AssertionError(String.format("%s in %s is not a YAML map", path, file.getName()));
+    }
+    return (Map<String, Object>) document;
+  }
+
+  /**
+   * The parsed YAML maps of the templates, by entry path.
+   */
+  public Map<String, Map<String, Object>> templates() throws IOException {
+    final Map<String, Map<String, Object>> templates = new TreeMap<>();
+    for (String path : entries.keySet()) {
+      if (path.startsWith("templates/") && (path.endsWith(".yaml") || path.endsWith(".yml"))) {
+        templates.put(path, yaml(path));
+      }
+    }
+    return templates;
+  }
+
+  /**
+   * Asserts that the archive contains exactly the files of the provided (unpackaged) chart directory, archives in
+   * the directory are ignored.
+   */
+  public void assertMatchesDirectory(File chartDirectory) throws IOException {
+    final Path root = chartDirectory.toPath();
+    final Map<String, Path> files = new TreeMap<>();
+    try (Stream<Path> walk = Files.walk(root)) {
+      walk.filter(Files::isRegularFile)
+        .filter(p -> ARCHIVE_EXTENSIONS.stream().noneMatch(ext -> p.getFileName().toString().endsWith(ext)))
+        .forEach(p -> files.put(root.relativize(p).toString().replace('\\', '/'), p));
+    }
+    final List<String> differences = new ArrayList<>();
+    for (Map.Entry<String, Path> local : files.entrySet()) {
+      final Entry archived = entries.get(local.getKey());
+      if (archived == null) {
+        differences.add(local.getKey() + ": not packaged");
+      } else if (!Arrays.equals(archived.content, Files.readAllBytes(local.getValue()))) {
+        differences.add(local.getKey() + ": packaged content differs");
+      }
+    }
+    entries.keySet().stream().filter(p -> !files.containsKey(p))
+      .forEach(p -> differences.add(p + ": packaged but not in the chart directory"));
+    if (!differences.isEmpty()) {
+      throw new AssertionError(String.format("%s doesn't match %s:%n  %s", file.getName(), chartDirectory,
+        String.join(System.lineSeparator() + "  ", differences)));
+    }
+  }
+
+  private Entry entry(String path) {
+    final Entry entry = entries.get(path);
+    if (entry == null) {
+      throw new AssertionError(String.format("No %s in %s, found %s", path, file.getName(), entries.keySet()));
+    }
+    return entry;
+  }
+
+  private void report() {
+    final long uncompressed = entries.values().stream().mapToLong(e -> e.content.length).sum();
+    addToReport(REPORT_SECTION, String.format("%s: %s bytes, %s entries, %s bytes, %.2f", file.getName(),
+      file.length(), entries.size(), uncompressed, uncompressed == 0 ? 1D : file.length() / (double) uncompressed));
+    entries.values().stream().filter(e -> e.compressedSize >= 0).forEach(e ->
+      addToReport(REPORT_SECTION, String.format("%s!%s: %s bytes, %s bytes compressed, %.2f", file.getName(),
+        e.path, e.content.length, e.compressedSize, e.getCompressionRatio())));
+  }
+
+  /**
+   * Entries relative to the chart root, the top level directory Helm packages the chart in.
+   */
+  private static Map<String, Entry> index(List<Entry> read) {
+    final List<String> roots = read.stream().map(e -> e.path.contains("/") ? e.path.substring(0, e.path.indexOf('/')) : "")
+      .distinct().collect(Collectors.toList());
+    final String prefix = roots.size() == 1 && !roots.get(0).isEmpty() ? roots.get(0) + "/" : "";
+    final Map<String, Entry> entries = new TreeMap<>();
+    read.forEach(e -> entries.put(e.path.substring(prefix.length()),
+      new Entry(e.path.substring(prefix.length()), e.content, e.compressedSize)));
+    return entries;
+  }
+
+  private static List<Entry> readZip(InputStream is) throws IOException {
+    final List<Entry> entries = new ArrayList<>();
+    final ZipInputStream zip = new ZipInputStream(is);
+    ZipEntry zipEntry;
+    while ((zipEntry = zip.getNextEntry()) != null) {
+      if (!zipEntry.isDirectory()) {
+        final byte[] content = zip.readAllBytes();
+        // Sizes are only known once the entry is read when they're stored in a data descriptor
+        entries.add(new Entry(zipEntry.getName(), content, zipEntry.getCompressedSize()));
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Minimal (ustar, GNU long names and PAX paths) tar reader, regular files only.
+   */
+  private static List<Entry> readTar(InputStream is) throws IOException {
+    final List<Entry> entries = new ArrayList<>();
+    final byte[] header = new byte[TAR_BLOCK];
+    String longName = null;
+    while (readBlock(is, header) && !isZero(header)) {
+      final long size = octal(header, 124, 12);
+      final char type = (char) header[156];
+      final byte[] content = readFully(is, size);
+      skipFully(is, (TAR_BLOCK - size % TAR_BLOCK) % TAR_BLOCK);
+      if (type == 'L') {
+        longName = string(content, 0, content.length);
+        continue;
+      } else if (type == 'x') {
+        longName = paxPath(content);
+        continue;
+      }
+      String name = string(header, 0, 100);
+      if (isPosixUstar(header)) {
+        final String prefix = string(header, 345, 155);
+        name = prefix.isEmpty() ? name : prefix + "/" + name;
+      }
+      if (longName != null) {
+        name = longName;
+        longName = null;
+      }
+      if (type == '0' || type == '\0') {
+        entries.add(new Entry(name, content, -1L));
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * POSIX ustar header ("ustar\0" magic and "00" version), GNU headers ("ustar  \0") store times where the prefix is.
+   */
+  private static boolean isPosixUstar(byte[] header) {
+    return new String(header, 257, 8, StandardCharsets.US_ASCII).equals("ustar\0" + "00");
+  }
+
+  private static String paxPath(byte[] content) {
+    // Records are "<length> <key>=<value>\n"
+    for (String record : new String(content, StandardCharsets.UTF_8).split("\n")) {
+      final int space = record.indexOf(' ');
+      if (space > 0 && record.startsWith("path=", space + 1)) {
+        return record.substring(space + 1 + "path=".length());
+      }
+    }
+    return null;
+  }
+
+  private static boolean readBlock(InputStream is, byte[] block) throws IOException {
+    int read = 0;
+    while (read < block.length) {
+      final int count = is.read(block, read, block.length - read);
+      if (count < 0) {
+        return false;
+      }
+      read += count;
+    }
+    return true;
+  }
+
+  private static byte[] readFully(InputStream is, long size) throws IOException {
+    final ByteArrayOutputStream content = new ByteArrayOutputStream((int) size);
+    final byte[] buffer = new byte[8192];
+    long remaining = size;
+    while (remaining > 0) {
+      final int count = is.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+      if (count < 0) {
+        throw new EOFException("Truncated tar entry");
+      }
+      content.write(buffer, 0, count);
+      remaining -= count;
+    }
+    return content.toByteArray();
+  }
+
+  private static void skipFully(InputStream is, long count) throws IOException {
+    readFully(is, count);
+  }
+
+  private static boolean isZero(byte[] block) {
+    for (byte b : block) {
+      if (b != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long octal(byte[] header, int offset, int length) throws IOException {
+    if ((header[offset] & 0x80) != 0) {
+      throw new IOException("Unsupported base-256 tar entry size");
+    }
+    final String value = string(header, offset, length).trim();
+    return value.isEmpty() ? 0L : Long.parseLong(value, 8);
+  }
+
+  private static String string(byte[] bytes, int offset, int length) {
+    int end = offset;
+    while (end < offset + length && bytes[end] != 0) {
+      end++;
+    }
+    return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
+  }
+
+  public static final class Entry {
+
+    private final String path;
+    private final byte[] content;
+    private final long compressedSize;
+
+    private Entry(String path, byte[] content, long compressedSize) {
+      this.path = path;
+      this.content = content;
+      this.compressedSize = compressedSize;
+    }
+
+    public String getPath() {
+      return path;
+    }
+
+    public long getSize() {
+      return content.length;
+    }
+
+    /**
+     * Compressed size of the entry, <code>-1</code> if the format doesn't compress entries individually (tar).
+     */
+    public long getCompressedSize() {
+      return compressedSize;
+    }
+
+    public double getCompressionRatio() {
+      return compressedSize < 0 || content.length == 0 ? 1D : compressedSize / (double) content.length;
+    }
+  }
+}
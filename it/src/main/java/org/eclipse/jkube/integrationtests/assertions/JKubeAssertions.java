@@ -14,8 +14,11 @@
 package org.eclipse.jkube.integrationtests.assertions;
 
 import io.fabric8.kubernetes.api.model.Pod;
+import org.eclipse.jkube.integrationtests.Deadline;
 import org.eclipse.jkube.integrationtests.JKubeCase;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -46,22 +49,24 @@ public class JKubeAssertions {
       .findAny();
     final UnaryOperator<Pod> refreshPod = pod ->
       jKubeCase.getKubernetesClient().pods().withName(pod.getMetadata().getName()).get();
-    try {
-      await(() -> matchingPod.map(refreshPod))
-        .apply(p -> p.isEmpty() || p.get().getMetadata().getDeletionTimestamp() != null)
-        .get(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    final CompletableFuture<Optional<Pod>> deleted = await(() -> matchingPod.map(refreshPod))
+      .apply(p -> p.isEmpty() || p.get().getMetadata().getDeletionTimestamp() != null);
+    try (Deadline.Wait wait = Deadline.await("JKubeAssertions.assertPodDeleted", DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      deleted.get(wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
     } catch (TimeoutException | ExecutionException e) {
       throw new AssertionError("Pod for application '" +
         jKubeCase.getApplication() + "' is still running when it should have been deleted");
+    } finally {
+      deleted.cancel(true);
     }
     return this;
   }
 
   public JKubeAssertions assertServiceDeleted() {
     final var svcResource = jKubeCase.getKubernetesClient().services().withName(jKubeCase.getApplication());
-    try {
+    try (Deadline.Wait wait = Deadline.await("JKubeAssertions.assertServiceDeleted", DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
       svcResource
-        .waitUntilCondition(d -> d == null || d.getMetadata().getDeletionTimestamp() != null, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        .waitUntilCondition(d -> d == null || d.getMetadata().getDeletionTimestamp() != null, wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
     } catch (Exception e) {
       throw new AssertionError("Service is still present when it should have been deleted:\n" +
         jKubeCase.getKubernetesClient().getKubernetesSerialization().asYaml(svcResource.get()), e);
@@ -70,9 +75,9 @@ public class JKubeAssertions {
   }
 
   public JKubeAssertions assertDeploymentDeleted() {
-    try {
+    try (Deadline.Wait wait = Deadline.await("JKubeAssertions.assertDeploymentDeleted", DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
       jKubeCase.getKubernetesClient().apps().deployments().withName(jKubeCase.getApplication())
-        .waitUntilCondition(d -> d == null || d.getMetadata().getDeletionTimestamp() != null, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        .waitUntilCondition(d -> d == null || d.getMetadata().getDeletionTimestamp() != null, wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
     } catch (Exception e) {
       throw new AssertionError("Deployment is still present when it should have been deleted", e);
     }
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerPort;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.PodTemplateSpec;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServicePort;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.Route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Consistency checks across the generated manifests, before anything is deployed:
+ * <ul>
+ *   <li>Service selectors match the pod template labels of at least one workload.</li>
+ *   <li>Service target ports are declared by the containers of the selected workloads (named ports must always be
+ *     declared, numeric ones only if the containers declare ports at all).</li>
+ *   <li>Routes target an existing Service and one of its ports.</li>
+ *   <li>Every resource has the standard <code>provider</code>, <code>group</code> and <code>app</code> labels.</li>
+ * </ul>
+ */
+public final class ManifestConsistency {
+
+  private ManifestConsistency() { }
+
+  public static void assertConsistent(Manifests manifests) {
+    final List<String> violations = new ArrayList<>();
+    final Map<String, PodTemplateSpec> workloads = new HashMap<>();
+    final Map<String, Service> services = new HashMap<>();
+    final List<Route> routes = new ArrayList<>();
+    for (HasMetadata item : manifests.getItems()) {
+      checkStandardLabels(item, violations);
+      final PodTemplateSpec template = template(item);
+      if (template != null) {
+        workloads.put(describe(item), template);
+      } else if (item instanceof Service) {
+        services.put(item.getMetadata().getName(), (Service) item);
+      } else if (item instanceof Route) {
+        routes.add((Route) item);
+      }
+    }
+    services.values().forEach(service -> checkService(service, workloads, violations));
+    routes.forEach(route -> checkRoute(route, services, violations));
+    if (!violations.isEmpty()) {
+      throw new AssertionError(String.format("Generated manifests aren't consistent:%n  %s",
+        String.join(System.lineSeparator() + "  ", violations)));
+    }
+  }
+
+  private static void checkStandardLabels(HasMetadata item, List<String> violations) {
+    final Map<String, String> labels = item.getMetadata().getLabels() == null ?
+      Collections.emptyMap() : item.getMetadata().getLabels();
+    if (!"jkube".equals(labels.get("provider"))) {
+      violations.add(describe(item) + ": missing label provider=jkube");
+    }
+    if (labels.get("group") == null || !labels.get("group").startsWith("org.eclipse.jkube.integration-tests")) {
+      violations.add(describe(item) + ": missing label group=org.eclipse.jkube.integration-tests*");
+    }
+    if (labels.get("app") == null) {
+      violations.add(describe(item) + ": missing label app");
+    }
+  }
+
+  private static void checkService(Service service, Map<String, PodTemplateSpec> workloads, List<String> violations) {
+    final Map<String, String> selector = service.getSpec() == null ? null : service.getSpec().getSelector();
+    if (selector == null || selector.isEmpty()) {
+      return;
+    }
+    final List<PodTemplateSpec> selected = workloads.values().stream()
+      .filter(t -> t.getMetadata() != null && t.getMetadata().getLabels() != null
+        && t.getMetadata().getLabels().entrySet().containsAll(selector.entrySet()))
+      .collect(Collectors.toList());
+    if (selected.isEmpty()) {
+      violations.add(String.format("%s: selector %s matches no workload pod template (%s)",
+        describe(service), selector, workloads.keySet()));
+      return;
+    }
+    final List<ContainerPort> containerPorts = selected.stream()
+      .filter(t -> t.getSpec() != null)
+      .flatMap(t -> t.getSpec().getContainers().stream())
+      .map(Container::getPorts).filter(Objects::nonNull)
+      .flatMap(List::stream)
+      .collect(Collectors.toList());
+    for (ServicePort port : service.getSpec().getPorts()) {
+      final IntOrString targetPort = port.getTargetPort() == null ? new IntOrString(port.getPort()) : port.getTargetPort();
+      if (targetPort.getStrVal() != null) {
+        if (containerPorts.stream().noneMatch(p -> targetPort.getStrVal().equals(p.getName()))) {
+          violations.add(String.format("%s: targetPort '%s' isn't a named container port of the selected workloads",
+            describe(service), targetPort.getStrVal()));
+        }
+      } else if (!containerPorts.isEmpty()
+        && containerPorts.stream().noneMatch(p -> Objects.equals(targetPort.getIntVal(), p.getContainerPort()))) {
+        violations.add(String.format("%s: targetPort %s isn't a container port of the selected workloads %s",
+          describe(service), targetPort.getIntVal(),
+          containerPorts.stream().map(ContainerPort::getContainerPort).collect(Collectors.toList())));
+      }
+    }
+  }
+
+  private static void checkRoute(Route route, Map<String, Service> services, List<String> violations) {
+    if (route.getSpec() == null || route.getSpec().getTo() == null) {
+      violations.add(describe(route) + ": no target");
+      return;
+    }
+    final String kind = route.getSpec().getTo().getKind();
+    if (kind != null && !kind.equals("Service")) {
+      return;
+    }
+    final Service service = services.get(route.getSpec().getTo().getName());
+    if (service == null) {
+      violations.add(String.format("%s: targets Service '%s', which isn't generated %s",
+        describe(route), route.getSpec().getTo().getName(), services.keySet()));
+      return;
+    }
+    if (route.getSpec().getPort() == null || route.getSpec().getPort().getTargetPort() == null) {
+      return;
+    }
+    final IntOrString targetPort = route.getSpec().getPort().getTargetPort();
+    final boolean found = service.getSpec().getPorts().stream().anyMatch(p -> targetPort.getStrVal() != null ?
+      targetPort.getStrVal().equals(p.getName()) :
+      Objects.equals(targetPort.getIntVal(), p.getTargetPort() == null ? p.getPort() : p.getTargetPort().getIntVal()));
+    if (!found) {
+      violations.add(String.format("%s: targetPort %s isn't a port of Service '%s'", describe(route),
+        targetPort.getStrVal() != null ? targetPort.getStrVal() : targetPort.getIntVal(), service.getMetadata().getName()));
+    }
+  }
+
+  private static PodTemplateSpec template(HasMetadata item) {
+    if (item instanceof Deployment && ((Deployment) item).getSpec() != null) {
+      return ((Deployment) item).getSpec().getTemplate();
+    } else if (item instanceof DeploymentConfig && ((DeploymentConfig) item).getSpec() != null) {
+      return ((DeploymentConfig) item).getSpec().getTemplate();
+    } else if (item instanceof StatefulSet && ((StatefulSet) item).getSpec() != null) {
+      return ((StatefulSet) item).getSpec().getTemplate();
+    } else if (item instanceof DaemonSet && ((DaemonSet) item).getSpec() != null) {
+      return ((DaemonSet) item).getSpec().getTemplate();
+    }
+    return null;
+  }
+
+  private static String describe(HasMetadata item) {
+    return item.getKind() + " '" + item.getMetadata().getName() + "'";
+  }
+}
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.jkube.integrationtests.Project;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import static org.eclipse.jkube.integrationtests.JKubeCase.JKUBE_VERSION_SYSTEM_PROPERTY;
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Snapshot assertion for the generated manifests, so that regressions in any field are noticed and not only in the
+ * few fields the tests check explicitly.
+ *
+ * <p> Manifests are canonicalized (sorted keys, volatile fields such as timestamps and Git commits removed, the JKube
+ * version replaced by a placeholder) and compared with the snapshot recorded for the project and profile in the
+ * <code>it.snapshots.dir</code> directory (<code>src/test/resources/jkube-snapshots</code> by default). The canonical
+ * hash is compared first, the snapshot is only read to report a structural diff on mismatch.
+ *
+ * <p> Missing and mismatching snapshots fail the assertion, with <code>-Dit.snapshots.update=true</code> they're
+ * recorded (overwritten) instead. Snapshots are only written in update mode. Additional volatile keys can be provided
+ * with <code>it.snapshots.ignore</code> (comma separated).
+ */
+public final class ManifestSnapshot {
+
+  public static final String DIRECTORY_PROPERTY = "it.snapshots.dir";
+  public static final String UPDATE_PROPERTY = "it.snapshots.update";
+  public static final String IGNORE_PROPERTY = "it.snapshots.ignore";
+  private static final Logger log = LoggerFactory.getLogger(ManifestSnapshot.class);
+  private static final String REPORT_SECTION = "Manifest snapshots";
+  private static final int MAX_DIFFERENCES = 50;
+  private static final Set<String> VOLATILE_KEYS = Set.of(
+    "creationTimestamp", "resourceVersion", "uid", "generation", "managedFields");
+  private static final Pattern VOLATILE_ANNOTATIONS = Pattern.compile(
+    ".+/(git-commit|git-branch|git-url|scm-tag|scm-url|build-timestamp|timestamp)");
+
+  private ManifestSnapshot() { }
+
+  /**
+   * Asserts that the provided manifest matches the snapshot of the project for the provided profile (e.g.
+   * <code>kubernetes</code>, <code>openshift</code>).
+   */
+  public static void assertManifestSnapshot(Project project, String profile, File manifest) throws IOException {
+    final Object canonical = canonicalize(YamlDocuments.read(manifest));
+    final String yaml = YamlDocuments.YAML_MAPPER.writeValueAsString(canonical);
+    final String hash = DigestUtils.sha256Hex(yaml);
+    final Path snapshot = Paths.get(System.getProperty(DIRECTORY_PROPERTY, "src/test/resources/jkube-snapshots"),
+      project.getProject(), profile, manifest.getName());
+    final Path hashFile = snapshot.resolveSibling(manifest.getName() + ".sha256");
+    if (Files.isRegularFile(hashFile) && new String(Files.readAllBytes(hashFile), StandardCharsets.UTF_8).trim().equals(hash)) {
+      return;
+    }
+    final boolean update = Boolean.getBoolean(UPDATE_PROPERTY);
+    if (!Files.isRegularFile(snapshot)) {
+      if (!update) {
+        throw new AssertionError(String.format("No snapshot %s for %s (rerun with -D%s=true to record it)",
+          snapshot, manifest, UPDATE_PROPERTY));
+      }
+      record(snapshot, hashFile, yaml, hash);
+      addToReport(REPORT_SECTION, String.format("%s - %s/%s recorded", project.getProject(), profile, manifest.getName()));
+      return;
+    }
+    final List<String> differences = new ArrayList<>();
+    diff("", canonicalize(YamlDocuments.YAML_MAPPER.readValue(snapshot.toFile(), Object.class)), canonical, differences);
+    if (differences.isEmpty()) {
+      // Same content, only the hash was stale or missing
+      if (update) {
+        Files.write(hashFile, hash.getBytes(StandardCharsets.UTF_8));
+      } else {
+        log.info("Stale snapshot hash {}, rerun with -D{}=true to refresh it", hashFile, UPDATE_PROPERTY);
+      }
+      return;
+    }
+    if (update) {
+      record(snapshot, hashFile, yaml, hash);
+      addToReport(REPORT_SECTION, String.format("%s - %s/%s updated (%s differences)",
+        project.getProject(), profile, manifest.getName(), differences.size()));
+      return;
+    }
+    throw new AssertionError(String.format("%s doesn't match snapshot %s (rerun with -D%s=true if expected):%n  %s",
+      manifest, snapshot, UPDATE_PROPERTY, String.join(System.lineSeparator() + "  ", differences)));
+  }
+
+  private static void record(Path snapshot, Path hashFile, String yaml, String hash) throws IOException {
+    log.info("Recording manifest snapshot {}", snapshot);
+    Files.createDirectories(snapshot.toAbsolutePath().getParent());
+    Files.write(snapshot, yaml.getBytes(StandardCharsets.UTF_8));
+    Files.write(hashFile, hash.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static Object canonicalize(Object value) {
+    final Set<String> ignored = new HashSet<>(VOLATILE_KEYS);
+    Arrays.stream(System.getProperty(IGNORE_PROPERTY, "").split(","))
+      .map(String::trim).filter(s -> !s.isEmpty()).forEach(ignored::add);
+    return canonicalize(value, ignored, System.getProperty(JKUBE_VERSION_SYSTEM_PROPERTY));
+  }
+
+  private static Object canonicalize(Object value, Set<String> ignored, String jkubeVersion) {
+    if (value instanceof Map) {
+      final Map<String, Object> sorted = new TreeMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        final String key = String.valueOf(entry.getKey());
+        if (!ignored.contains(key) && !VOLATILE_ANNOTATIONS.matcher(key).matches()) {
+          sorted.put(key, canonicalize(entry.getValue(), ignored, jkubeVersion));
+        }
+      }
+      return sorted;
+    } else if (value instanceof List) {
+      final List<Object> list = new ArrayList<>();
+      ((List<?>) value).forEach(v -> list.add(canonicalize(v, ignored, jkubeVersion)));
+      return list;
+    } else if (value instanceof String && jkubeVersion != null && !jkubeVersion.isEmpty()) {
+      return ((String) value).replace(jkubeVersion, "${jkube.version}");
+    }
+    return value;
+  }
+
+  private static void diff(String path, Object expected, Object actual, List<String> differences) {
+    if (differences.size() > MAX_DIFFERENCES) {
+      return;
+    }
+    if (expected instanceof Map && actual instanceof Map) {
+      final Map<?, ?> expectedMap = (Map<?, ?>) expected;
+      final Map<?, ?> actualMap = (Map<?, ?>) actual;
+      final Set<Object> keys = new TreeSet<>(Comparator.comparing(Object::toString));
+      keys.addAll(expectedMap.keySet());
+      keys.addAll(actualMap.keySet());
+      for (Object key : keys) {
+        final String child = path.isEmpty() ? String.valueOf(key) : path + "." + key;
+        if (!actualMap.containsKey(key)) {
+          add(differences, child + ": removed (was " + expectedMap.get(key) + ")");
+        } else if (!expectedMap.containsKey(key)) {
+          add(differences, child + ": added " + actualMap.get(key));
+        } else {
+          diff(child, expectedMap.get(key), actualMap.get(key), differences);
+        }
+      }
+    } else if (expected instanceof List && actual instanceof List) {
+      final List<?> expectedList = (List<?>) expected;
+      final List<?> actualList = (List<?>) actual;
+      for (int it = 0; it < Math.max(expectedList.size(), actualList.size()); it++) {
+        final String child = path + "[" + it + "]";
+        if (it >= actualList.size()) {
+          add(differences, child + ": removed (was " + expectedList.get(it) + ")");
+        } else if (it >= expectedList.size()) {
+          add(differences, child + ": added " + actualList.get(it));
+        } else {
+          diff(child, expectedList.get(it), actualList.get(it), differences);
+        }
+      }
+    } else if (!Objects.equals(expected, actual)) {
+      add(differences, path + ": expected " + expected + " but was " + actual);
+    }
+  }
+
+  private static void add(List<String> differences, String difference) {
+    if (differences.size() < MAX_DIFFERENCES) {
+      differences.add(difference);
+    } else if (differences.size() == MAX_DIFFERENCES) {
+      differences.add("...");
+    }
+  }
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesList;
+import io.fabric8.kubernetes.api.model.PodTemplateSpec;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+
+/**
+ * The resources generated by JKube, parsed once into typed fabric8 objects and indexed by kind, name and label.
+ *
+ * <pre>
+ * final Manifests manifests = Manifests.kubernetes(metaInfDirectory);
+ * assertThat(manifests.deployment("my-app").container("my-app").getPorts(), hasSize(1));
+ * </pre>
+ *
+ * <p> The aggregated <code>kubernetes.yml</code> (<code>openshift.yml</code>) is loaded if present, otherwise the
+ * resource fragments of the <code>kubernetes</code> (<code>openshift</code>) directory are parsed in parallel.
+ * Every load parses the files again, the resources are indexed by kind and name, and by label, once per load.
+ */
+public final class Manifests {
+
+  private static final KubernetesSerialization SERIALIZATION = new KubernetesSerialization();
+
+  private final List<HasMetadata> items;
+  private final Map<String, Map<String, HasMetadata>> byKind;
+  private final Map<String, List<HasMetadata>> byLabel;
+
+  private Manifests(List<HasMetadata> items) {
+    this.items = Collections.unmodifiableList(items);
+    this.byKind = new LinkedHashMap<>();
+    this.byLabel = new HashMap<>();
+    for (HasMetadata item : items) {
+      byKind.computeIfAbsent(item.getKind(), k -> new LinkedHashMap<>()).put(item.getMetadata().getName(), item);
+      if (item.getMetadata().getLabels() != null) {
+        item.getMetadata().getLabels().forEach((key, value) ->
+          byLabel.computeIfAbsent(label(key, value), k -> new ArrayList<>()).add(item));
+      }
+    }
+  }
+
+  /**
+   * The Kubernetes manifests generated in the provided <code>META-INF</code> directory.
+   */
+  public static Manifests kubernetes(File metaInfDirectory) throws IOException {
+    return load(new File(metaInfDirectory, "jkube").toPath(), "kubernetes");
+  }
+
+  /**
+   * The OpenShift manifests generated in the provided <code>META-INF</code> directory.
+   */
+  public static Manifests openshift(File metaInfDirectory) throws IOException {
+    return load(new File(metaInfDirectory, "jkube").toPath(), "openshift");
+  }
+
+  /**
+   * The manifests for the provided platform (<code>kubernetes</code> or <code>openshift</code>) in the provided
+   * JKube resource directory.
+   */
+  public static Manifests load(Path jkubeDirectory, String platform) throws IOException {
+    final List<Path> files = files(jkubeDirectory, platform);
+    if (files.isEmpty()) {
+      throw new IOException(String.format("No %s manifests found in %s", platform, jkubeDirectory));
+    }
+    final List<byte[]> contents = new ArrayList<>();
+    for (Path file : files) {
+      contents.add(Files.readAllBytes(file));
+    }
+    return new Manifests(parse(contents));
+  }
+
+  private static List<Path> files(Path jkubeDirectory, String platform) throws IOException {
+    final Path aggregated = jkubeDirectory.resolve(platform + ".yml");
+    if (Files.isRegularFile(aggregated)) {
+      return Collections.singletonList(aggregated);
+    }
+    final Path fragments = jkubeDirectory.resolve(platform);
+    if (!Files.isDirectory(fragments)) {
+      return Collections.emptyList();
+    }
+    try (Stream<Path> list = Files.list(fragments)) {
+      return list
+        .filter(p -> p.getFileName().toString().endsWith(".yml") || p.getFileName().toString().endsWith(".yaml"))
+        .sorted()
+        .collect(Collectors.toList());
+    }
+  }
+
+  private static List<HasMetadata> parse(List<byte[]> contents) {
+    final List<CompletableFuture<List<HasMetadata>>> parsed = contents.stream()
+      .map(bytes -> CompletableFuture.supplyAsync(() -> parse(bytes), executorService()))
+      .collect(Collectors.toList());
+    final List<HasMetadata> items = new ArrayList<>();
+    try {
+      parsed.forEach(f -> items.addAll(f.join()));
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+    return Collections.unmodifiableList(items);
+  }
+
+  private static List<HasMetadata> parse(byte[] bytes) {
+    final Object parsed = SERIALIZATION.unmarshal(new ByteArrayInputStream(bytes));
+    final List<HasMetadata> items = new ArrayList<>();
+    if (parsed instanceof KubernetesList) {
+      items.addAll(((KubernetesList) parsed).getItems());
+    } else if (parsed instanceof HasMetadata) {
+      items.add((HasMetadata) parsed);
+    } else if (parsed instanceof List) {
+      ((List<?>) parsed).stream().filter(HasMetadata.class::isInstance).map(HasMetadata.class::cast)
+        .forEach(items::add);
+    }
+    return items;
+  }
+
+  public List<HasMetadata> getItems() {
+    return items;
+  }
+
+  /**
+   * The resources of the provided kind (e.g. <code>Deployment</code>).
+   */
+  public List<HasMetadata> ofKind(String kind) {
+    return new ArrayList<>(byKind.getOrDefault(kind, Collections.emptyMap()).values());
+  }
+
+  public Optional<HasMetadata> find(String kind, String name) {
+    return Optional.ofNullable(byKind.getOrDefault(kind, Collections.emptyMap()).get(name));
+  }
+
+  /**
+   * The resources with the provided label.
+   */
+  public List<HasMetadata> withLabel(String key, String value) {
+    return new ArrayList<>(byLabel.getOrDefault(label(key, value), Collections.emptyList()));
+  }
+
+  private static String label(String key, String value) {
+    return key + "=" + value;
+  }
+
+  /**
+   * The resource with the provided kind and name, fails the assertion if there's none.
+   */
+  public <T extends HasMetadata> T get(Class<T> type, String kind, String name) {
+    final HasMetadata resource = find(kind, name).orElseThrow(() -> new AssertionError(String.format(
+      "No %s named '%s' in the generated manifests, found %s", kind, name,
+      byKind.getOrDefault(kind, Collections.emptyMap()).keySet())));
+    if (!type.isInstance(resource)) {
+      throw new AssertionError(String.format("%s '%s' is a %s", kind, name, resource.getClass().getName()));
+    }
+    return type.cast(resource);
+  }
+
+  public Workload deployment(String name) {
+    final Deployment deployment = get(Deployment.class, "Deployment", name);
+    return new Workload(deployment, deployment.getSpec().getTemplate());
+  }
+
+  public Workload deploymentConfig(String name) {
+    final DeploymentConfig deploymentConfig = get(DeploymentConfig.class, "DeploymentConfig", name);
+    return new Workload(deploymentConfig, deploymentConfig.getSpec().getTemplate());
+  }
+
+  public Service service(String name) {
+    return get(Service.class, "Service", name);
+  }
+
+  /**
+   * A resource with a pod template (Deployment, DeploymentConfig).
+   */
+  public static final class Workload {
+
+    private final HasMetadata resource;
+    private final PodTemplateSpec template;
+
+    private Workload(HasMetadata resource, PodTemplateSpec template) {
+      this.resource = resource;
+      this.template = template;
+    }
+
+    public HasMetadata get() {
+      return resource;
+    }
+
+    public PodTemplateSpec getTemplate() {
+      return template;
+    }
+
+    public List<Container> containers() {
+      return template == null || template.getSpec() == null ?
+        Collections.emptyList() : template.getSpec().getContainers();
+    }
+
+    /**
+     * The container with the provided name, fails the assertion if there's none.
+     */
+    public Container container(String name) {
+      return containers().stream().filter(c -> name.equals(c.getName())).findFirst()
+        .orElseThrow(() -> new AssertionError(String.format("No container named '%s' in %s '%s', found %s", name,
+          resource.getKind(), resource.getMetadata().getName(),
+          containers().stream().map(Container::getName).collect(Collectors.toList()))));
+    }
+  }
+}
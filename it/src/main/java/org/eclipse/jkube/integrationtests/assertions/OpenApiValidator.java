@@ -0,0 +1,373 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Offline validation of generated manifests against the Kubernetes and OpenShift OpenAPI (v2) schemas, so that
+ * invalid manifests are rejected before anything is applied to a cluster.
+ *
+ * <p> Schemas are loaded for every version in <code>it.openapi.versions</code> (<code>v1.25,v1.28</code> by default,
+ * the versions of the CI matrix) from the <code>it.openapi.dir</code> directory (every <code>.json</code> file in
+ * <code>&lt;dir&gt;/&lt;version&gt;</code>, the upstream <code>swagger.json</code> or its trimmed version from
+ * <code>scripts/trim-openapi-schema.py</code>). No schemas are bundled: without <code>it.openapi.dir</code> the
+ * manifests are reported as not validated, a configured version without schemas and references to definitions the
+ * schemas don't include fail the assertion.
+ *
+ * <p> Every document (items of Lists included) is validated against every version in parallel. The validation covers
+ * unknown fields, required fields, types and enums. Resources of unknown kinds (e.g. custom resources) are skipped.
+ * Go templates can't be validated before they're rendered, Helm charts are validated from their packaged templates
+ * and the assertion fails if none of the provided documents could be validated.
+ */
+public final class OpenApiValidator {
+
+  public static final String VERSIONS_PROPERTY = "it.openapi.versions";
+  public static final String DIRECTORY_PROPERTY = "it.openapi.dir";
+  private static final Logger log = LoggerFactory.getLogger(OpenApiValidator.class);
+  private static final String REPORT_SECTION =
+    "OpenAPI schema validation (documents, templates not validated, versions, errors, time)";
+  private static final String DEFINITIONS = "#/definitions/";
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+  private static final Map<String, Optional<OpenApiValidator>> VALIDATORS = new ConcurrentHashMap<>();
+
+  private final String version;
+  private final Map<String, JsonNode> definitions;
+  private final Map<String, String> definitionsByGvk;
+
+  private OpenApiValidator(String version, Map<String, JsonNode> definitions) {
+    this.version = version;
+    this.definitions = definitions;
+    this.definitionsByGvk = new HashMap<>();
+    definitions.forEach((name, definition) -> definition.path("x-kubernetes-group-version-kind").forEach(gvk ->
+      definitionsByGvk.put(gvk(gvk.path("group").asText(), gvk.path("version").asText(), gvk.path("kind").asText()), name)));
+  }
+
+  /**
+   * Asserts that every document of the provided manifests (YAML files, or directories of YAML files) is valid for
+   * every configured version.
+   */
+  public static void assertSchemaValid(File... manifests) throws IOException {
+    final Documents documents = new Documents();
+    for (File manifest : manifests) {
+      for (Path file : yamlFiles(manifest.toPath())) {
+        documents.add(file.getFileName().toString(), Files.readAllBytes(file));
+      }
+    }
+    assertSchemaValid(Arrays.stream(manifests).map(File::getName).collect(Collectors.joining(", ")), documents);
+  }
+
+  /**
+   * Asserts that every packaged template of the provided Helm chart is valid for every configured version.
+   */
+  public static void assertSchemaValid(HelmChartArchive chart) throws IOException {
+    final Documents documents = new Documents();
+    for (String path : chart.getEntries().keySet()) {
+      if (path.startsWith("templates/") && (path.endsWith(".yaml") || path.endsWith(".yml"))) {
+        documents.add(path, chart.content(path));
+      }
+    }
+    assertSchemaValid(chart.getFile().getName(), documents);
+  }
+
+  private static void assertSchemaValid(String name, Documents documents) {
+    if (System.getProperty(DIRECTORY_PROPERTY) == null) {
+      log.info("{} not set, not validating {} against the OpenAPI schemas", DIRECTORY_PROPERTY, name);
+      addToReport(REPORT_SECTION, String.format("%s: not validated, %s not set", name, DIRECTORY_PROPERTY));
+      return;
+    }
+    final long start = System.currentTimeMillis();
+    final List<OpenApiValidator> validators = new ArrayList<>();
+    final List<String> missing = new ArrayList<>();
+    for (String version : System.getProperty(VERSIONS_PROPERTY, "v1.25,v1.28").split(",")) {
+      final Optional<OpenApiValidator> validator = forVersion(version.trim());
+      validator.ifPresentOrElse(validators::add, () -> missing.add(version.trim()));
+    }
+    if (!missing.isEmpty()) {
+      throw new AssertionError(String.format("No OpenAPI schemas for %s, provide them in %s/<version> (or change %s)",
+        missing, DIRECTORY_PROPERTY, VERSIONS_PROPERTY));
+    }
+    if (documents.documents.isEmpty()) {
+      throw new AssertionError(String.format("No documents to validate in %s (%s Go templates not validated)",
+        name, documents.templated));
+    }
+    final List<CompletableFuture<List<String>>> validations = new ArrayList<>();
+    for (Document document : documents.documents) {
+      for (OpenApiValidator validator : validators) {
+        validations.add(CompletableFuture.supplyAsync(() -> validator.validate(document), executorService()));
+      }
+    }
+    final List<String> errors = validations.stream().flatMap(v -> v.join().stream()).collect(Collectors.toList());
+    addToReport(REPORT_SECTION, String.format("%s: %s, %s, %s, %s, %sms", name, documents.documents.size(),
+      documents.templated, validators.stream().map(v -> v.version).collect(Collectors.joining(" ")), errors.size(),
+      System.currentTimeMillis() - start));
+    if (!errors.isEmpty()) {
+      throw new AssertionError(String.format("Generated manifests don't match the OpenAPI schemas:%n  %s",
+        String.join(System.lineSeparator() + "  ", errors)));
+    }
+  }
+
+  /**
+   * The validator for the provided version (e.g. <code>v1.28</code>), empty if there are no schemas for it.
+   */
+  public static Optional<OpenApiValidator> forVersion(String version) {
+    return VALIDATORS.computeIfAbsent(version, OpenApiValidator::load);
+  }
+
+  private static Optional<OpenApiValidator> load(String version) {
+    final Map<String, JsonNode> definitions = new HashMap<>();
+    try {
+      final Path directory = Paths.get(System.getProperty(DIRECTORY_PROPERTY), version);
+      if (Files.isDirectory(directory)) {
+        try (Stream<Path> files = Files.list(directory)) {
+          for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".json")).sorted().collect(Collectors.toList())) {
+            addDefinitions(definitions, JSON_MAPPER.readTree(file.toFile()));
+          }
+        }
+      }
+    } catch (IOException ex) {
+      log.warn("Unable to load the OpenAPI schemas for {}", version, ex);
+      definitions.clear();
+    }
+    if (definitions.isEmpty()) {
+      log.warn("No OpenAPI schemas for {}", version);
+      return Optional.empty();
+    }
+    return Optional.of(new OpenApiValidator(version, definitions));
+  }
+
+  private static void addDefinitions(Map<String, JsonNode> definitions, JsonNode schema) {
+    final Iterator<Map.Entry<String, JsonNode>> it = schema.path("definitions").fields();
+    while (it.hasNext()) {
+      final Map.Entry<String, JsonNode> definition = it.next();
+      definitions.putIfAbsent(definition.getKey(), definition.getValue());
+    }
+  }
+
+  private static List<Path> yamlFiles(Path manifest) throws IOException {
+    if (!Files.isDirectory(manifest)) {
+      return List.of(manifest);
+    }
+    try (Stream<Path> files = Files.walk(manifest)) {
+      return files.filter(Files::isRegularFile)
+        .filter(f -> f.getFileName().toString().endsWith(".yml") || f.getFileName().toString().endsWith(".yaml"))
+        .sorted().collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * The validation errors of the provided document, empty if it's valid or of an unknown kind.
+   */
+  private List<String> validate(Document document) {
+    final List<String> errors = new ArrayList<>();
+    if (!(document.content instanceof Map)) {
+      errors.add(document.describe(version) + ": not a YAML map");
+      return errors;
+    }
+    final Map<?, ?> resource = (Map<?, ?>) document.content;
+    final String apiVersion = String.valueOf(resource.get("apiVersion"));
+    final int slash = apiVersion.lastIndexOf('/');
+    final String definition = definitionsByGvk.get(gvk(slash < 0 ? "" : apiVersion.substring(0, slash),
+      apiVersion.substring(slash + 1), String.valueOf(resource.get("kind"))));
+    if (definition == null) {
+      log.debug("No {} schema for {} {}, skipping", version, apiVersion, resource.get("kind"));
+      return errors;
+    }
+    validate(document.describe(version), "", definitions.get(definition), resource, errors);
+    return errors;
+  }
+
+  private void validate(String document, String path, JsonNode schema, Object value, List<String> errors) {
+    if (schema == null || value == null) {
+      return;
+    }
+    final String location = document + ": " + (path.isEmpty() ? "<root>" : path);
+    String ref = null;
+    while (schema.has("$ref")) {
+      ref = schema.get("$ref").asText().replace(DEFINITIONS, "");
+      schema = definitions.get(ref);
+      if (schema == null) {
+        // Partial schemas must not pass for valid
+        errors.add(location + ": no " + ref + " definition in the " + DIRECTORY_PROPERTY + " schemas");
+        return;
+      }
+    }
+    final String type = schema.path("type").asText("");
+    if (schema.path("x-kubernetes-int-or-string").asBoolean(false) || "int-or-string".equals(schema.path("format").asText())
+      || (ref != null && (ref.endsWith(".IntOrString") || ref.endsWith(".Quantity")))) {
+      if (!(value instanceof String || isInteger(value) || value instanceof Number)) {
+        errors.add(location + ": expected an integer or a string but was " + value);
+      }
+      return;
+    }
+    switch (type) {
+      case "object":
+        if (!(value instanceof Map)) {
+          errors.add(location + ": expected an object but was " + value);
+          return;
+        }
+        validateObject(document, path, schema, (Map<?, ?>) value, errors);
+        return;
+      case "array":
+        if (!(value instanceof List)) {
+          errors.add(location + ": expected an array but was " + value);
+          return;
+        }
+        final List<?> list = (List<?>) value;
+        for (int it = 0; it < list.size(); it++) {
+          validate(document, path + "[" + it + "]", schema.get("items"), list.get(it), errors);
+        }
+        return;
+      case "string":
+        if (!(value instanceof String)) {
+          errors.add(location + ": expected a string but was " + value);
+        } else if (schema.has("enum") && !contains(schema.get("enum"), (String) value)) {
+          errors.add(location + ": unexpected value " + value + ", expected one of " + schema.get("enum"));
+        }
+        return;
+      case "integer":
+        if (!isInteger(value)) {
+          errors.add(location + ": expected an integer but was " + value);
+        }
+        return;
+      case "number":
+        if (!(value instanceof Number)) {
+          errors.add(location + ": expected a number but was " + value);
+        }
+        return;
+      case "boolean":
+        if (!(value instanceof Boolean)) {
+          errors.add(location + ": expected a boolean but was " + value);
+        }
+        return;
+      default:
+        // Untyped schemas (e.g. RawExtension) accept anything, objects may omit the type
+        if (schema.has("properties") && value instanceof Map) {
+          validateObject(document, path, schema, (Map<?, ?>) value, errors);
+        }
+    }
+  }
+
+  private void validateObject(String document, String path, JsonNode schema, Map<?, ?> value, List<String> errors) {
+    final String prefix = path.isEmpty() ? "" : path + ".";
+    for (JsonNode required : schema.path("required")) {
+      if (!value.containsKey(required.asText())) {
+        errors.add(document + ": " + prefix + required.asText() + ": required field missing");
+      }
+    }
+    final JsonNode properties = schema.get("properties");
+    final JsonNode additionalProperties = schema.get("additionalProperties");
+    final boolean preserveUnknown = schema.path("x-kubernetes-preserve-unknown-fields").asBoolean(false);
+    for (Map.Entry<?, ?> entry : value.entrySet()) {
+      final String field = String.valueOf(entry.getKey());
+      if (properties != null && properties.has(field)) {
+        validate(document, prefix + field, properties.get(field), entry.getValue(), errors);
+      } else if (additionalProperties != null && additionalProperties.isObject()) {
+        validate(document, prefix + field, additionalProperties, entry.getValue(), errors);
+      } else if (properties != null && !preserveUnknown && !(additionalProperties != null && additionalProperties.asBoolean(false))) {
+        errors.add(document + ": " + prefix + field + ": unknown field");
+      }
+    }
+  }
+
+  private static boolean isInteger(Object value) {
+    return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof BigInteger;
+  }
+
+  private static boolean contains(JsonNode values, String value) {
+    for (JsonNode candidate : values) {
+      if (candidate.asText().equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String gvk(String group, String version, String kind) {
+    return group + "/" + version + "/" + kind;
+  }
+
+  /**
+   * The documents to validate, the items of Lists being documents on their own.
+   */
+  private static final class Documents {
+    private final List<Document> documents = new ArrayList<>();
+    private int templated;
+
+    private void add(String source, byte[] content) throws IOException {
+      if (new String(content, StandardCharsets.UTF_8).contains("{{")) {
+        // Go templates (Helm) can't be validated before they're rendered
+        log.debug("Not validating templated manifest {}", source);
+        templated++;
+        return;
+      }
+      try (MappingIterator<Object> it = YamlDocuments.YAML_MAPPER.readerFor(Object.class).readValues(content)) {
+        while (it.hasNextValue()) {
+          final Object document = it.nextValue();
+          if (document instanceof Map && "List".equals(((Map<?, ?>) document).get("kind"))
+            && ((Map<?, ?>) document).get("items") instanceof List) {
+            ((List<?>) ((Map<?, ?>) document).get("items")).forEach(i -> documents.add(new Document(source, i)));
+          } else if (document != null) {
+            documents.add(new Document(source, document));
+          }
+        }
+      }
+    }
+  }
+
+  private static final class Document {
+    private final String source;
+    private final Object content;
+
+    private Document(String source, Object content) {
+      this.source = source;
+      this.content = content;
+    }
+
+    private String describe(String version) {
+      String name = "";
+      if (content instanceof Map && ((Map<?, ?>) content).get("metadata") instanceof Map) {
+        name = String.valueOf(((Map<?, ?>) ((Map<?, ?>) content).get("metadata")).get("name"));
+      }
+      final Object kind = content instanceof Map ? ((Map<?, ?>) content).get("kind") : null;
+      return String.format("%s %s/%s (%s)", source, kind, name, version);
+    }
+  }
+}
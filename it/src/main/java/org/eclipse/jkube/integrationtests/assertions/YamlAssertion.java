@@ -13,25 +13,54 @@
  */
 package org.eclipse.jkube.integrationtests.assertions;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 public class YamlAssertion {
 
-  private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
-
   public static <V> Matcher<File> yaml(Matcher<Map<? extends String, ? extends V>> matcher) {
     return new YamlMapFileMatcher<>(matcher);
   }
 
+  /**
+   * Matches a YAML file with a value at the provided path matching the value matcher, without parsing the whole file.
+   *
+   * @see YamlPathMatcher
+   */
+  public static YamlPathMatcher yamlPath(String path, Matcher<?> valueMatcher) {
+    return new YamlPathMatcher(path, valueMatcher);
+  }
+
+  /**
+   * Evaluates all the provided path matchers in a single pass over the YAML file.
+   */
+  public static Matcher<File> yamlPaths(YamlPathMatcher... matchers) {
+    final List<YamlPathMatcher> all = Arrays.asList(matchers);
+    return new TypeSafeMatcher<>(File.class) {
+      @Override
+      protected boolean matchesSafely(File yamlFile) {
+        return YamlPathMatcher.matchAll(yamlFile, all);
+      }
+
+      @Override
+      public void describeTo(Description description) {
+        description.appendList("YAML file with ", " and ", "", all);
+      }
+
+      @Override
+      protected void describeMismatchSafely(File yamlFile, Description mismatchDescription) {
+        YamlPathMatcher.describeMismatches(yamlFile, all, mismatchDescription);
+      }
+    };
+  }
+
   private static class YamlFileMatcher<M> extends TypeSafeMatcher<File> {
 
     private final Matcher<? super M> matcher;
@@ -65,8 +94,9 @@ public class YamlAssertion {
       }
     }
 
+    @SuppressWarnings("unchecked")
     private M readFile(File yamlFile) throws IOException {
-      return YAML_MAPPER.readValue(yamlFile, new TypeReference<>() { });
+      return (M) YamlDocuments.read(yamlFile);
     }
   }
 
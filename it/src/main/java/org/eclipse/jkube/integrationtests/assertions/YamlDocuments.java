@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of parsed YAML documents shared by the YAML assertions, so that a file is parsed once per version
+ * (path and SHA-256 of its content) no matter how many matchers evaluate it.
+ *
+ * <p> Documents are deeply unmodifiable, the least recently used ones are evicted beyond <code>it.yaml.cache.size</code>
+ * (128 by default) documents. Hits, misses and evictions are added to the test report.
+ */
+public final class YamlDocuments {
+
+  public static final String CACHE_SIZE_PROPERTY = "it.yaml.cache.size";
+  static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+  private static final String REPORT_SECTION = "YAML document cache (hits, misses, evictions)";
+  private static final int CAPACITY = Integer.getInteger(CACHE_SIZE_PROPERTY, 128);
+  private static final Map<Path, Document> DOCUMENTS = new LinkedHashMap<>(16, 0.75F, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Path, Document> eldest) {
+      if (size() > CAPACITY) {
+        EVICTIONS.incrementAndGet();
+        return true;
+      }
+      return false;
+    }
+  };
+  private static final AtomicLong HITS = new AtomicLong();
+  private static final AtomicLong MISSES = new AtomicLong();
+  private static final AtomicLong EVICTIONS = new AtomicLong();
+
+  static {
+    ReportExtension.onClose(() -> {
+      if (HITS.get() + MISSES.get() > 0) {
+        ReportExtension.addToReport(REPORT_SECTION, String.format("%s, %s, %s", HITS.get(), MISSES.get(), EVICTIONS.get()));
+      }
+    });
+  }
+
+  private YamlDocuments() { }
+
+  /**
+   * The parsed (unmodifiable) content of the provided YAML file, from the cache if the file content didn't change
+   * since it was last parsed.
+   *
+   * <p> The content is hashed on every read, timestamps can't tell apart two generations written within the same
+   * millisecond (or by a tool preserving them).
+   */
+  public static Object read(File yamlFile) throws IOException {
+    final Path path = yamlFile.toPath().toAbsolutePath().normalize();
+    final byte[] bytes = Files.readAllBytes(path);
+    final String sha256 = DigestUtils.sha256Hex(bytes);
+    final Document document;
+    synchronized (DOCUMENTS) {
+      final Document cached = DOCUMENTS.get(path);
+      if (cached != null && cached.sha256.equals(sha256)) {
+        document = cached;
+      } else {
+        document = new Document(sha256, bytes);
+        DOCUMENTS.put(path, document);
+      }
+    }
+    return document.get();
+  }
+
+  public static long getHits() {
+    return HITS.get();
+  }
+
+  public static long getMisses() {
+    return MISSES.get();
+  }
+
+  @SuppressWarnings("unchecked")
+  static Object unmodifiable(Object value) {
+    if (value instanceof Map) {
+      final Map<Object, Object> map = new LinkedHashMap<>();
+      ((Map<Object, Object>) value).forEach((k, v) -> map.put(k, unmodifiable(v)));
+      return Collections.unmodifiableMap(map);
+    } else if (value instanceof List) {
+      final List<Object> list = new ArrayList<>();
+      ((List<Object>) value).forEach(v -> list.add(unmodifiable(v)));
+      return Collections.unmodifiableList(list);
+    }
+    return value;
+  }
+
+  private static final class Document {
+
+    private final String sha256;
+    private byte[] bytes;
+    private boolean parsed;
+    private Object content;
+
+    private Document(String sha256, byte[] bytes) {
+      this.sha256 = sha256;
+      this.bytes = bytes;
+    }
+
+    /**
+     * Parses the document on first access, failed parses aren't cached so that the error is reported every time.
+     */
+    private synchronized Object get() throws IOException {
+      if (parsed) {
+        HITS.incrementAndGet();
+        return content;
+      }
+      MISSES.incrementAndGet();
+      content = unmodifiable(YAML_MAPPER.readValue(bytes, Object.class));
+      parsed = true;
+      bytes = null;
+      return content;
+    }
+  }
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Matches a YAML file with at least one value at the provided path matching the value matcher, the file is streamed
+ * (every document of multi-document files) and only the subtrees at the path are read.
+ *
+ * <p> Paths are dot separated field names, <code>[]</code> selects every element of a sequence and <code>[n]</code>
+ * its n-th element (e.g. <code>items[].spec.template.spec.containers[0].ports</code>). Several matchers can be
+ * evaluated in a single pass with {@link YamlAssertion#yamlPaths(YamlPathMatcher...)}, the stream stops as soon as
+ * every matcher is satisfied.
+ */
+public class YamlPathMatcher extends TypeSafeMatcher<File> {
+
+  private final String path;
+  private final List<Segment> segments;
+  private final Matcher<?> valueMatcher;
+
+  YamlPathMatcher(String path, Matcher<?> valueMatcher) {
+    super(File.class);
+    this.path = path;
+    this.segments = parse(path);
+    this.valueMatcher = valueMatcher;
+  }
+
+  @Override
+  protected boolean matchesSafely(File yamlFile) {
+    return matchAll(yamlFile, Collections.singletonList(this));
+  }
+
+  @Override
+  public void describeTo(Description description) {
+    description.appendText("YAML path ").appendValue(path).appendText(" with a value [")
+      .appendDescriptionOf(valueMatcher).appendText("]");
+  }
+
+  @Override
+  protected void describeMismatchSafely(File yamlFile, Description mismatchDescription) {
+    describeMismatches(yamlFile, Collections.singletonList(this), mismatchDescription);
+  }
+
+  static boolean matchAll(File yamlFile, List<YamlPathMatcher> matchers) {
+    try {
+      return evaluate(yamlFile, matchers).stream().allMatch(q -> q.matched);
+    } catch (IOException ex) {
+      return false;
+    }
+  }
+
+  static void describeMismatches(File yamlFile, List<YamlPathMatcher> matchers, Description mismatchDescription) {
+    mismatchDescription.appendText("YAML file (").appendValue(yamlFile).appendText(") - ");
+    try {
+      String separator = "";
+      for (Query query : evaluate(yamlFile, matchers)) {
+        if (!query.matched) {
+          mismatchDescription.appendText(separator).appendText("path ").appendValue(query.matcher.path);
+          if (query.values.isEmpty()) {
+            mismatchDescription.appendText(" not found");
+          } else {
+            mismatchDescription.appendText(" had values ").appendValueList("[", ", ", "]", query.values);
+          }
+          separator = ", ";
+        }
+      }
+    } catch (IOException ex) {
+      mismatchDescription.appendText("can't be loaded (").appendText(ex.getMessage()).appendText(")");
+    }
+  }
+
+  /**
+   * Streams the file until every query is satisfied (or the end of the file).
+   */
+  private static List<Query> evaluate(File yamlFile, List<YamlPathMatcher> matchers) throws IOException {
+    final List<Query> queries = new ArrayList<>();
+    matchers.forEach(m -> queries.add(new Query(m)));
+    final List<State> initial = new ArrayList<>();
+    queries.forEach(q -> initial.add(new State(q, 0)));
+    try (JsonParser parser = YamlDocuments.YAML_MAPPER.getFactory().createParser(yamlFile)) {
+      // Multi-document files are a sequence of root values
+      while (!allMatched(queries) && parser.nextToken() != null) {
+        walk(parser, initial, queries);
+      }
+    }
+    return queries;
+  }
+
+  /**
+   * Evaluates the value at the current token, consuming it.
+   */
+  private static void walk(JsonParser parser, List<State> states, List<Query> queries) throws IOException {
+    final List<State> active = new ArrayList<>();
+    boolean capture = false;
+    for (State state : states) {
+      if (!state.query.matched) {
+        active.add(state);
+        capture |= state.depth == state.query.matcher.segments.size();
+      }
+    }
+    final JsonToken token = parser.currentToken();
+    if (active.isEmpty()) {
+      parser.skipChildren();
+    } else if (capture) {
+      // Some path ends here, the subtree is needed anyway, deeper paths are resolved on it
+      final Object value = parser.readValueAs(Object.class);
+      active.forEach(s -> navigate(value, s.query, s.depth));
+    } else if (token == JsonToken.START_OBJECT) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME && !allMatched(queries)) {
+        final String field = parser.getCurrentName();
+        parser.nextToken();
+        walk(parser, advance(active, s -> s.field != null && s.field.equals(field)), queries);
+      }
+    } else if (token == JsonToken.START_ARRAY) {
+      int index = 0;
+      while (parser.nextToken() != JsonToken.END_ARRAY && !allMatched(queries)) {
+        final int current = index++;
+        walk(parser, advance(active, s -> s.field == null && (s.index < 0 || s.index == current)), queries);
+      }
+    }
+  }
+
+  private static List<State> advance(List<State> states, Predicate<Segment> segmentMatches) {
+    final List<State> next = new ArrayList<>();
+    for (State state : states) {
+      if (segmentMatches.test(state.query.matcher.segments.get(state.depth))) {
+        next.add(new State(state.query, state.depth + 1));
+      }
+    }
+    return next;
+  }
+
+  private static void navigate(Object value, Query query, int depth) {
+    if (query.matched) {
+      return;
+    }
+    if (depth == query.matcher.segments.size()) {
+      query.accept(value);
+      return;
+    }
+    final Segment segment = query.matcher.segments.get(depth);
+    if (segment.field != null && value instanceof Map && ((Map<?, ?>) value).containsKey(segment.field)) {
+      navigate(((Map<?, ?>) value).get(segment.field), query, depth + 1);
+    } else if (segment.field == null && value instanceof List) {
+      final List<?> list = (List<?>) value;
+      for (int it = 0; it < list.size(); it++) {
+        if (segment.index < 0 || segment.index == it) {
+          navigate(list.get(it), query, depth + 1);
+        }
+      }
+    }
+  }
+
+  private static boolean allMatched(List<Query> queries) {
+    return queries.stream().allMatch(q -> q.matched);
+  }
+
+  private static List<Segment> parse(String path) {
+    final List<Segment> segments = new ArrayList<>();
+    for (String part : path.split("\\.")) {
+      final int bracket = part.indexOf('[');
+      final String field = bracket < 0 ? part : part.substring(0, bracket);
+      if (!field.isEmpty()) {
+        segments.add(new Segment(field, -1));
+      }
+      if (bracket >= 0) {
+        for (String index : part.substring(bracket + 1).split("\\[")) {
+          if (!index.endsWith("]")) {
+            throw new IllegalArgumentException("Invalid YAML path: " + path);
+          }
+          final String value = index.substring(0, index.length() - 1).trim();
+          segments.add(new Segment(null, value.isEmpty() ? -1 : Integer.parseInt(value)));
+        }
+      }
+    }
+    if (segments.isEmpty()) {
+      throw new IllegalArgumentException("Invalid YAML path: " + path);
+    }
+    return segments;
+  }
+
+  /**
+   * A field name, or a sequence index (<code>-1</code> for every element) if the field is <code>null</code>.
+   */
+  private static final class Segment {
+    private final String field;
+    private final int index;
+
+    private Segment(String field, int index) {
+      this.field = field;
+      this.index = index;
+    }
+  }
+
+  private static final class State {
+    private final Query query;
+    private final int depth;
+
+    private State(Query query, int depth) {
+      this.query = query;
+      this.depth = depth;
+    }
+  }
+
+  private static final class Query {
+    private final YamlPathMatcher matcher;
+    private final List<Object> values;
+    private boolean matched;
+
+    private Query(YamlPathMatcher matcher) {
+      this.matcher = matcher;
+      this.values = new ArrayList<>();
+    }
+
+    private void accept(Object value) {
+      values.add(value);
+      matched = matcher.valueMatcher.matches(value);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ClusterAdmissionExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks tests that deploy (or build) the application in the cluster.
+ *
+ * <p> The test waits until the application fits in the cluster capacity, the admission is held until the test
+ * class completes.
+ */
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+@ExtendWith({ClusterAdmissionExtension.class})
+public @interface ClusterAdmission {
+}
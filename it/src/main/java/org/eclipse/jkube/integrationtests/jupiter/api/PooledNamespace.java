@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.NamespacePoolExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Runs the test class in a namespace leased from the {@link org.eclipse.jkube.integrationtests.NamespacePool}.
+ *
+ * <p> The test class must return <code>namespacePool().client(getClass())</code> from
+ * <code>getKubernetesClient()</code>, a client dedicated to the test class and bound to the leased namespace. Maven
+ * invocations target the namespace through the <code>jkube.namespace</code> property.
+ */
+@Target({TYPE})
+@Retention(RUNTIME)
+@Inherited
+@ExtendWith({NamespacePoolExtension.class})
+public @interface PooledNamespace {
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Declares the capabilities required by a test, overrides the tier inferred from its goal.
+ *
+ * @see org.eclipse.jkube.integrationtests.parallel.Tiers
+ */
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+public @interface Tier {
+
+  Level value();
+
+  enum Level {
+    /**
+     * Only reads and writes files (e.g. manifest and Helm chart generation).
+     */
+    FILESYSTEM,
+    /**
+     * Requires the Docker daemon or a registry (e.g. image build and push).
+     */
+    DOCKER,
+    /**
+     * Requires the cluster (e.g. deploy, logs, OpenShift builds).
+     */
+    CLUSTER
+  }
+}
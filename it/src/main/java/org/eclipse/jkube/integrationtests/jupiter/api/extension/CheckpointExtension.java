@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import org.eclipse.jkube.integrationtests.Checkpoints;
+import org.eclipse.jkube.integrationtests.Checkpoints.Checkpoint;
+import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.Project;
+import org.eclipse.jkube.integrationtests.jupiter.api.Tier;
+import org.eclipse.jkube.integrationtests.parallel.Tiers;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Records the {@link Checkpoints} of ordered project test classes and, in resume mode, skips the steps completed
+ * by the previous run.
+ *
+ * <p> Classes sharing their project or application with another class don't resume, see {@link Checkpoints}.
+ */
+public class CheckpointExtension implements ExecutionCondition, TestWatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(CheckpointExtension.class);
+  private static final String REPORT_SECTION = "Resumed from checkpoints";
+  private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CheckpointExtension.class);
+
+  @Override
+  public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+    final Optional<Progress> progress = progress(context);
+    if (progress.isEmpty() || !Checkpoints.isResumeEnabled()) {
+      return ConditionEvaluationResult.enabled("Not resuming");
+    }
+    final String step = context.getRequiredTestMethod().getName();
+    final Checkpoint checkpoint = progress.get().resume(context.getRequiredTestClass(), step);
+    if (checkpoint == null) {
+      return ConditionEvaluationResult.enabled("Not completed by the previous run");
+    }
+    progress.get().record(context.getRequiredTestClass(), checkpoint);
+    addToReport(REPORT_SECTION, String.format("%s - %s", context.getRequiredTestClass().getSimpleName(), step));
+    return ConditionEvaluationResult.disabled("Completed by the previous run, resumed from checkpoint");
+  }
+
+  @Override
+  public void testSuccessful(ExtensionContext context) {
+    progress(context).ifPresent(progress -> {
+      try {
+        final Tier.Level tier = Tiers.tierOf(context.getRequiredTestMethod(), context.getDisplayName());
+        progress.record(context.getRequiredTestClass(), new Checkpoint(context.getRequiredTestMethod().getName(), tier,
+          Checkpoints.fingerprint(progress.project, progress.application)));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (Exception ex) {
+        log.warn("Unable to record the checkpoint of {}", context.getDisplayName(), ex);
+      }
+    });
+  }
+
+  @Override
+  public void testFailed(ExtensionContext context, Throwable cause) {
+    // Any later step is incomplete, they'll no longer be recorded (nor resumed)
+    progress(context).ifPresent(progress -> progress.stop(context.getRequiredTestClass()));
+  }
+
+  @Override
+  public void testAborted(ExtensionContext context, Throwable cause) {
+    testFailed(context, cause);
+  }
+
+  private static Optional<Progress> progress(ExtensionContext context) {
+    if (context.getTestMethod().isEmpty() || context.getTestInstance().isEmpty()
+      || !(context.getRequiredTestInstance() instanceof Project)
+      || !(context.getRequiredTestInstance() instanceof JKubeCase)
+      || AnnotationSupport.findAnnotation(context.getRequiredTestClass(), TestMethodOrder.class).isEmpty()) {
+      return Optional.empty();
+    }
+    final ExtensionContext classContext = context.getParent().orElse(context);
+    return Optional.of(classContext.getStore(NAMESPACE).getOrComputeIfAbsent(Progress.class,
+      k -> new Progress(context.getRequiredTestClass(), (Project) context.getRequiredTestInstance(),
+        ((JKubeCase) context.getRequiredTestInstance()).getApplication()), Progress.class));
+  }
+
+  private static final class Progress {
+
+    private final Project project;
+    private final String application;
+    private final List<Checkpoint> previous;
+    private final List<Checkpoint> recorded;
+    private int resumable;
+    private boolean resuming;
+    private boolean stopped;
+
+    private Progress(Class<?> testClass, Project project, String application) {
+      this.project = project;
+      this.application = application;
+      this.previous = Checkpoints.load(testClass);
+      this.recorded = new ArrayList<>();
+      this.resumable = -1;
+      this.resuming = true;
+      Checkpoints.register(testClass, project, application);
+    }
+
+    /**
+     * The checkpoint of the provided step if it can be skipped, steps are only skipped while the previous ones were.
+     */
+    private synchronized Checkpoint resume(Class<?> testClass, String step) {
+      if (resumable < 0) {
+        resumable = resumableSteps(testClass);
+      }
+      final int index = recorded.size();
+      if (resuming && index < resumable && previous.get(index).getStep().equals(step)) {
+        return previous.get(index);
+      }
+      resuming = false;
+      return null;
+    }
+
+    /**
+     * Number of leading non-cluster steps up to the last one whose fingerprint matches the current state.
+     */
+    private int resumableSteps(Class<?> testClass) {
+      try {
+        if (Checkpoints.isShared(testClass, project, application)) {
+          log.info("{} shares {} with another test class, not resuming",
+            testClass.getSimpleName(), project.getProject());
+          return 0;
+        }
+        final String current = Checkpoints.fingerprint(project, application);
+        int steps = 0;
+        for (int it = 0; it < previous.size() && previous.get(it).getTier() != Tier.Level.CLUSTER; it++) {
+          if (previous.get(it).getFingerprint().equals(current)) {
+            steps = it + 1;
+          }
+        }
+        return steps;
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (Exception ex) {
+        log.warn("Unable to fingerprint {}, not resuming", project.getProject(), ex);
+      }
+      return 0;
+    }
+
+    private synchronized void record(Class<?> testClass, Checkpoint checkpoint) {
+      if (stopped) {
+        return;
+      }
+      recorded.add(checkpoint);
+      save(testClass);
+    }
+
+    private synchronized void stop(Class<?> testClass) {
+      resuming = false;
+      stopped = true;
+      save(testClass);
+    }
+
+    private void save(Class<?> testClass) {
+      try {
+        Checkpoints.save(testClass, project, application, recorded);
+      } catch (Exception ex) {
+        log.warn("Unable to save the checkpoints of {}", testClass.getName(), ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesList;
+import io.fabric8.kubernetes.api.model.PodTemplateSpec;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import org.eclipse.jkube.integrationtests.AdmissionController;
+import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.Project;
+import org.eclipse.jkube.integrationtests.Resources;
+import org.eclipse.jkube.integrationtests.jupiter.api.Gradle;
+import org.eclipse.jkube.integrationtests.jupiter.api.Tier;
+import org.eclipse.jkube.integrationtests.parallel.Tiers;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.eclipse.jkube.integrationtests.AdmissionController.admissionController;
+
+/**
+ * Acquires a cluster admission for the application of the test class before the first annotated test that isn't
+ * a filesystem test, the admission is released once the test class completes.
+ *
+ * <p> The application is sized from the resource requests of its Deployment (or DeploymentConfig) in the manifests
+ * generated by JKube, containers without requests count as {@link Resources#DEFAULT_CONTAINER_REQUESTS}, the requests
+ * the pooled namespaces default them to.
+ */
+public class ClusterAdmissionExtension implements BeforeEachCallback {
+
+  private static final Logger log = LoggerFactory.getLogger(ClusterAdmissionExtension.class);
+  private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ClusterAdmissionExtension.class);
+  private static final int MANIFEST_SEARCH_DEPTH = 10;
+
+  @Override
+  public void beforeEach(ExtensionContext context) throws Exception {
+    if (Tiers.tierOf(context.getRequiredTestMethod(), context.getDisplayName()) == Tier.Level.FILESYSTEM) {
+      return;
+    }
+    final ExtensionContext classContext = context.getParent().orElse(context);
+    if (classContext.getStore(NAMESPACE).get(Admission.class) != null) {
+      return;
+    }
+    final JKubeCase jKubeCase = (JKubeCase) context.getRequiredTestInstance();
+    final KubernetesClient kc = jKubeCase.getKubernetesClient();
+    final Resources requests = requests(kc, jKubeCase);
+    final long start = System.nanoTime();
+    final AdmissionController.Lease lease = admissionController().admit(kc, jKubeCase.getApplication(), requests);
+    DurationRecorderExtension.queued(context, start);
+    classContext.getStore(NAMESPACE).put(Admission.class, new Admission(lease));
+  }
+
+  private static Resources requests(KubernetesClient kc, JKubeCase jKubeCase) throws IOException {
+    final Optional<Path> root = projectPath(jKubeCase);
+    if (root.isEmpty()) {
+      log.debug("No project found for {}, using default requests", jKubeCase.getApplication());
+      return Resources.DEFAULT_CONTAINER_REQUESTS;
+    }
+    for (Path manifest : manifests(root.get())) {
+      final Optional<Resources> requests = items(kc, manifest).stream()
+        .filter(i -> i.getMetadata() != null && jKubeCase.getApplication().equals(i.getMetadata().getName()))
+        .map(ClusterAdmissionExtension::requests)
+        .filter(Optional::isPresent).map(Optional::get)
+        .findFirst();
+      if (requests.isPresent()) {
+        return requests.get();
+      }
+    }
+    log.debug("No generated manifest found for {}, using default requests", jKubeCase.getApplication());
+    return Resources.DEFAULT_CONTAINER_REQUESTS;
+  }
+
+  /**
+   * The module of the Maven project, or of the Gradle project declared by the <code>&#64;Gradle</code> field.
+   */
+  private static Optional<Path> projectPath(JKubeCase jKubeCase) {
+    if (jKubeCase instanceof Project) {
+      return Optional.of(Paths.get("..", ((Project) jKubeCase).getProject()));
+    }
+    return ReflectionSupport.findFields(jKubeCase.getClass(), f -> f.isAnnotationPresent(Gradle.class),
+        HierarchyTraversalMode.TOP_DOWN).stream()
+      .findFirst()
+      .map(f -> Paths.get("..", "projects-to-be-tested", "gradle").resolve(
+        String.join(File.separator, f.getAnnotation(Gradle.class).project())));
+  }
+
+  private static List<Path> manifests(Path root) throws IOException {
+    if (!Files.isDirectory(root)) {
+      return Collections.emptyList();
+    }
+    try (Stream<Path> files = Files.walk(root, MANIFEST_SEARCH_DEPTH)) {
+      return files
+        .filter(p -> p.getFileName().toString().equals("kubernetes.yml") || p.getFileName().toString().equals("openshift.yml"))
+        .filter(p -> p.getParent().endsWith(Paths.get("META-INF", "jkube")))
+        .collect(Collectors.toList());
+    }
+  }
+
+  private static List<HasMetadata> items(KubernetesClient kc, Path manifest) {
+    try (InputStream is = Files.newInputStream(manifest)) {
+      final Object parsed = kc.getKubernetesSerialization().unmarshal(is);
+      if (parsed instanceof KubernetesList) {
+        return ((KubernetesList) parsed).getItems();
+      } else if (parsed instanceof HasMetadata) {
+        return Collections.singletonList((HasMetadata) parsed);
+      }
+    } catch (Exception ex) {
+      log.debug("Unable to parse {}", manifest, ex);
+    }
+    return Collections.emptyList();
+  }
+
+  private static Optional<Resources> requests(HasMetadata item) {
+    if (item instanceof Deployment) {
+      final Deployment deployment = (Deployment) item;
+      return Optional.of(requests(deployment.getSpec().getTemplate(), deployment.getSpec().getReplicas()));
+    } else if (item instanceof DeploymentConfig) {
+      final DeploymentConfig deploymentConfig = (DeploymentConfig) item;
+      return Optional.of(requests(deploymentConfig.getSpec().getTemplate(), deploymentConfig.getSpec().getReplicas()));
+    }
+    return Optional.empty();
+  }
+
+  private static Resources requests(PodTemplateSpec template, Integer replicas) {
+    final Resources defaults = Resources.DEFAULT_CONTAINER_REQUESTS;
+    Resources pod = Resources.NONE;
+    for (Container container : template.getSpec().getContainers()) {
+      final Optional<ResourceRequirements> resources = Optional.ofNullable(container.getResources());
+      final Quantity cpu = resources.map(ResourceRequirements::getRequests).map(r -> r.get("cpu")).orElse(null);
+      final Quantity memory = resources.map(ResourceRequirements::getRequests).map(r -> r.get("memory")).orElse(null);
+      pod = pod.plus(new Resources(
+        cpu == null ? defaults.getCpuMillis() : Resources.millis(cpu),
+        memory == null ? defaults.getMemoryBytes() : Resources.bytes(memory)));
+    }
+    return pod.times(replicas == null ? 1 : Math.max(1, replicas));
+  }
+
+  private static final class Admission implements ExtensionContext.Store.CloseableResource {
+
+    private final AdmissionController.Lease lease;
+
+    private Admission(AdmissionController.Lease lease) {
+      this.lease = lease;
+    }
+
+    @Override
+    public void close() {
+      lease.close();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.assertions.DiagnosticsCollector;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Collects the cluster diagnostics bundle of every failed test (readiness, NodePort responses, logs, Maven goals...).
+ */
+public class DiagnosticsExtension implements TestWatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(DiagnosticsExtension.class);
+  private static final String REPORT_SECTION = "Diagnostics";
+
+  @Override
+  public void testFailed(ExtensionContext context, Throwable cause) {
+    if (context.getTestInstance().isEmpty() || !(context.getRequiredTestInstance() instanceof JKubeCase)) {
+      return;
+    }
+    final JKubeCase jKubeCase = (JKubeCase) context.getRequiredTestInstance();
+    final String test = String.format("%s - %s", context.getRequiredTestClass().getName(),
+      context.getTestMethod().map(Method::getName).orElse("ERROR"));
+    try {
+      if (jKubeCase.getKubernetesClient() == null) {
+        return;
+      }
+      addToReport(REPORT_SECTION,
+        String.format("%s: %s", test, DiagnosticsCollector.collectDiagnostics(jKubeCase, test)));
+    } catch (RuntimeException ex) {
+      log.warn("Unable to collect the diagnostics of {}", test, ex);
+    }
+  }
+}
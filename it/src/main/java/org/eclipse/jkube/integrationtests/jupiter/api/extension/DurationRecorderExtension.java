@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import org.eclipse.jkube.integrationtests.parallel.SuitePlan;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+import static org.eclipse.jkube.integrationtests.parallel.DurationHistory.durationHistory;
+
+/**
+ * Records the duration of every test class and test method into the
+ * {@link org.eclipse.jkube.integrationtests.parallel.DurationHistory}, and reports the actual makespan of the suite
+ * against the one predicted by the {@link SuitePlan}.
+ *
+ * <p> The time spent queued (parallelism governor, cluster admission, namespace pool) is reported by the extensions
+ * with {@link #queued(ExtensionContext, long)} and excluded from the recorded durations, so that the plan doesn't
+ * learn its own queueing delays.
+ */
+public class DurationRecorderExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback {
+
+  private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DurationRecorderExtension.class);
+  private static final AtomicBoolean STARTED = new AtomicBoolean(false);
+  private static final AtomicLong FIRST_START_NANOS = new AtomicLong();
+  private static final AtomicLong LAST_END_NANOS = new AtomicLong();
+  private static final Map<Class<?>, Long> ACTUAL_MILLIS = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, AtomicLong> QUEUED_CLASS_NANOS = new ConcurrentHashMap<>();
+  private static final Map<String, AtomicLong> QUEUED_METHOD_NANOS = new ConcurrentHashMap<>();
+
+  @Override
+  public void beforeAll(ExtensionContext context) {
+    if (STARTED.compareAndSet(false, true)) {
+      FIRST_START_NANOS.set(System.nanoTime());
+      ReportExtension.onClose(DurationRecorderExtension::close);
+    }
+    context.getStore(NAMESPACE).put(context.getRequiredTestClass(), System.nanoTime());
+  }
+
+  @Override
+  public void afterAll(ExtensionContext context) {
+    final long millis = elapsedMillis(context.getStore(NAMESPACE).get(context.getRequiredTestClass(), Long.class),
+      QUEUED_CLASS_NANOS.remove(context.getRequiredTestClass()));
+    durationHistory().recordClass(context.getRequiredTestClass(), millis);
+    ACTUAL_MILLIS.put(context.getRequiredTestClass(), millis);
+    LAST_END_NANOS.accumulateAndGet(System.nanoTime(), Math::max);
+  }
+
+  @Override
+  public void beforeEach(ExtensionContext context) {
+    context.getStore(NAMESPACE).put(context.getUniqueId(), System.nanoTime());
+  }
+
+  @Override
+  public void afterEach(ExtensionContext context) {
+    durationHistory().recordMethod(context.getRequiredTestClass(), context.getRequiredTestMethod().getName(),
+      elapsedMillis(context.getStore(NAMESPACE).get(context.getUniqueId(), Long.class),
+        QUEUED_METHOD_NANOS.remove(context.getUniqueId())));
+  }
+
+  /**
+   * Records the time the provided test spent queued since <code>startNanos</code> (now being the end of the wait).
+   */
+  public static void queued(ExtensionContext context, long startNanos) {
+    final long queued = System.nanoTime() - startNanos;
+    QUEUED_CLASS_NANOS.computeIfAbsent(context.getRequiredTestClass(), k -> new AtomicLong()).addAndGet(queued);
+    final Long methodStart = context.getStore(NAMESPACE).get(context.getUniqueId(), Long.class);
+    if (methodStart != null && methodStart <= startNanos) {
+      // The wait happened while the test method was already being timed
+      QUEUED_METHOD_NANOS.computeIfAbsent(context.getUniqueId(), k -> new AtomicLong()).addAndGet(queued);
+    }
+  }
+
+  private static void close() throws Exception {
+    durationHistory().save();
+    final long actualMakespanMillis = TimeUnit.NANOSECONDS.toMillis(LAST_END_NANOS.get() - FIRST_START_NANOS.get());
+    final SuitePlan plan = SuitePlan.current().orElse(null);
+    if (plan == null) {
+      addToReport(SuitePlan.REPORT_SECTION, String.format("actual makespan: %ss (no plan, class ordering disabled)",
+        actualMakespanMillis / 1000));
+      return;
+    }
+    addToReport(SuitePlan.REPORT_SECTION, String.format("actual makespan: %ss", actualMakespanMillis / 1000));
+    for (Class<?> testClass : plan.getOrder()) {
+      final Long actual = ACTUAL_MILLIS.get(testClass);
+      plan.getEntry(testClass).ifPresent(e -> addToReport(SuitePlan.REPORT_SECTION,
+        String.format("%s: predicted %ss%s, actual %s",
+          testClass.getSimpleName(), e.getPredictedMillis() / 1000, e.isEstimated() ? " (estimated)" : "",
+          actual == null ? "not run" : (actual / 1000) + "s")));
+    }
+  }
+
+  private static long elapsedMillis(Long startNanos, AtomicLong queuedNanos) {
+    if (startNanos == null) {
+      return 0L;
+    }
+    final long queued = queuedNanos == null ? 0L : queuedNanos.get();
+    return TimeUnit.NANOSECONDS.toMillis(Math.max(0L, System.nanoTime() - startNanos - queued));
+  }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import org.eclipse.jkube.integrationtests.ResourceTracker;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Detects the resources leaked by a test class.
+ *
+ * <p> Live threads, child processes and the resources registered in the {@link ResourceTracker} are snapshot
+ * before and after each test class. Tracked resources still open after the class are attributed to it and reported
+ * with their allocation stack trace. Threads and processes are JVM-wide, so their deltas are reported along with
+ * the number of classes that were running concurrently.
+ *
+ * <p> Resources opened outside a test (e.g. suite-wide clients) are checked once the suite completes.
+ *
+ * <p> Details are written to <code>target/jkube-leaks.txt</code>, leaks fail the class when the
+ * <code>it.leaks.fail</code> system property is <code>true</code>.
+ */
+public class LeakMonitorExtension implements BeforeAllCallback, AfterAllCallback {
+
+  public static final String FAIL_PROPERTY = "it.leaks.fail";
+  private static final String REPORT_SECTION = "Resource leaks (tracked, threads, processes)";
+  private static final long GRACE_PERIOD_MILLIS = 2000L;
+  private static final AtomicInteger RUNNING_CLASSES = new AtomicInteger();
+  private static boolean detailsStarted = false;
+  private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LeakMonitorExtension.class);
+
+  @Override
+  public void beforeAll(ExtensionContext context) {
+    RUNNING_CLASSES.incrementAndGet();
+    context.getStore(NAMESPACE).put(Snapshot.class, Snapshot.take());
+  }
+
+  @Override
+  public void afterAll(ExtensionContext context) throws Exception {
+    final int concurrentClasses = RUNNING_CLASSES.getAndDecrement() - 1;
+    final Class<?> owner = context.getRequiredTestClass();
+    final Snapshot before = context.getStore(NAMESPACE).remove(Snapshot.class, Snapshot.class);
+    final long graceEnd = System.currentTimeMillis() + GRACE_PERIOD_MILLIS;
+    List<ResourceTracker.Tracked> tracked = ResourceTracker.open(owner);
+    while (!tracked.isEmpty() && System.currentTimeMillis() < graceEnd) {
+      Thread.sleep(100L);
+      tracked = ResourceTracker.open(owner);
+    }
+    final Snapshot after = Snapshot.take();
+    final List<Thread> threads = after.threads.keySet().stream()
+      .filter(t -> !before.threads.containsKey(t) && t.isAlive() && !isIdlePoolWorker(after.threads.get(t)))
+      .collect(Collectors.toList());
+    final List<ProcessHandle> processes = after.processes.stream()
+      .filter(p -> !before.processes.contains(p) && p.isAlive())
+      .collect(Collectors.toList());
+    if (tracked.isEmpty() && threads.isEmpty() && processes.isEmpty()) {
+      return;
+    }
+    addToReport(REPORT_SECTION, String.format("%s: %s, %s, %s (%s other classes running)",
+      owner.getName(), tracked.size(), threads.size(), processes.size(), concurrentClasses));
+    writeDetails(owner.getName(), tracked, threads, after, processes);
+    if (Boolean.getBoolean(FAIL_PROPERTY) && !tracked.isEmpty()) {
+      throw new AssertionError(String.format("%s leaked %s resources: %s (see target/jkube-leaks.txt)",
+        owner.getName(), tracked.size(), tracked.stream().map(ResourceTracker.Tracked::getDescription).collect(Collectors.joining(", "))));
+    }
+  }
+
+  /**
+   * Reports the tracked resources without owner that are still open once the suite has completed.
+   */
+  static void suiteCompleted() throws IOException {
+    final List<ResourceTracker.Tracked> tracked = ResourceTracker.open(null);
+    if (!tracked.isEmpty()) {
+      addToReport(REPORT_SECTION, String.format("<suite>: %s, -, -", tracked.size()));
+      writeDetails("<suite>", tracked, List.of(), Snapshot.take(), List.of());
+    }
+  }
+
+  /**
+   * Cached thread pools keep their workers for a while after they complete their tasks, those aren't leaks.
+   */
+  private static boolean isIdlePoolWorker(StackTraceElement[] stackTrace) {
+    return Arrays.stream(stackTrace).anyMatch(ste ->
+      ste.getClassName().equals("java.util.concurrent.ThreadPoolExecutor") && ste.getMethodName().equals("getTask") ||
+      ste.getClassName().equals("java.util.concurrent.ForkJoinPool") && ste.getMethodName().equals("awaitWork") ||
+      ste.getClassName().startsWith("org.eclipse.jetty.util.thread.QueuedThreadPool"));
+  }
+
+  private static synchronized void writeDetails(
+    String owner, List<ResourceTracker.Tracked> tracked, List<Thread> threads, Snapshot after,
+    List<ProcessHandle> processes) throws IOException {
+
+    final List<String> lines = new ArrayList<>();
+    lines.add(String.format("==== %s", owner));
+    for (ResourceTracker.Tracked t : tracked) {
+      lines.add(String.format("[%s] %s, allocated at:", t.getKind(), t.getDescription()));
+      Arrays.stream(t.getAllocationStackTrace()).forEach(ste -> lines.add("    at " + ste));
+    }
+    for (Thread thread : threads) {
+      lines.add(String.format("[thread] %s (%s), currently at:", thread.getName(), thread.getState()));
+      Arrays.stream(after.threads.get(thread)).forEach(ste -> lines.add("    at " + ste));
+    }
+    for (ProcessHandle process : processes) {
+      lines.add(String.format("[process] %s %s", process.pid(), process.info().commandLine().orElse("<unknown>")));
+    }
+    final File details = new File("target", "jkube-leaks.txt");
+    if (!detailsStarted) {
+      Files.deleteIfExists(details.toPath());
+      detailsStarted = true;
+    }
+    Files.write(details.toPath(), lines, StandardCharsets.UTF_8, CREATE, APPEND);
+  }
+
+  private static final class Snapshot {
+    private final Map<Thread, StackTraceElement[]> threads;
+    private final Set<ProcessHandle> processes;
+
+    private Snapshot(Map<Thread, StackTraceElement[]> threads, Set<ProcessHandle> processes) {
+      this.threads = threads;
+      this.processes = processes;
+    }
+
+    private static Snapshot take() {
+      return new Snapshot(Thread.getAllStackTraces(),
+        ProcessHandle.current().descendants().collect(Collectors.toSet()));
+    }
+  }
+}
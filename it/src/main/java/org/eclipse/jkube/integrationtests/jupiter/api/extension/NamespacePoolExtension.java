@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.eclipse.jkube.integrationtests.NamespacePool.namespacePool;
+
+/**
+ * Leases a pooled namespace before the first test of the class and releases it after all tests have run.
+ *
+ * <p> Test classes get the client of their leased namespace from
+ * {@link org.eclipse.jkube.integrationtests.NamespacePool#client(Class)}, no (possibly shared) field is modified.
+ */
+public class NamespacePoolExtension implements BeforeEachCallback, AfterAllCallback {
+
+  @Override
+  public void beforeEach(ExtensionContext context) throws Exception {
+    final long start = System.nanoTime();
+    namespacePool().lease(context.getRequiredTestClass());
+    DurationRecorderExtension.queued(context, start);
+  }
+
+  @Override
+  public void afterAll(ExtensionContext context) {
+    namespacePool().release(context.getRequiredTestClass());
+  }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.Tier;
+import org.eclipse.jkube.integrationtests.parallel.Tiers;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.eclipse.jkube.integrationtests.parallel.ParallelismGovernor.governor;
+
+/**
+ * Acquires the governor slot of the test class before its first test that isn't a filesystem test, the slot is
+ * released once the test class completes.
+ */
+public class ParallelismGovernorExtension implements BeforeEachCallback {
+
+  private static final ExtensionContext.Namespace NAMESPACE =
+    ExtensionContext.Namespace.create(ParallelismGovernorExtension.class);
+
+  @Override
+  public void beforeEach(ExtensionContext context) throws Exception {
+    if (Tiers.tierOf(context.getRequiredTestMethod(), context.getDisplayName()) == Tier.Level.FILESYSTEM) {
+      return;
+    }
+    final ExtensionContext classContext = context.getParent().orElse(context);
+    if (classContext.getStore(NAMESPACE).get(Slot.class) != null) {
+      return;
+    }
+    final long start = System.nanoTime();
+    governor().acquire(context.getRequiredTestClass().getSimpleName());
+    DurationRecorderExtension.queued(context, start);
+    classContext.getStore(NAMESPACE).put(Slot.class, new Slot());
+  }
+
+  private static final class Slot implements ExtensionContext.Store.CloseableResource {
+
+    @Override
+    public void close() {
+      governor().release();
+    }
+  }
+}
@@ -17,12 +17,18 @@ import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.nio.file.StandardOpenOption.APPEND;
@@ -30,6 +36,10 @@ import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
 
 public class ReportExtension implements BeforeAllCallback, AfterEachCallback, CloseableResource {
 
+  private static final Logger log = LoggerFactory.getLogger(ReportExtension.class);
+  private static final Map<String, Queue<String>> SECTIONS = new ConcurrentSkipListMap<>();
+  private static final Queue<CloseHook> CLOSE_HOOKS = new ConcurrentLinkedQueue<>();
+
   private volatile boolean testsStarted = false;
   private final AtomicInteger testCount = new AtomicInteger(0);
   private final AtomicInteger failedTestCount = new AtomicInteger(0);
@@ -59,12 +69,52 @@ public class ReportExtension implements BeforeAllCallback, AfterEachCallback, Cl
 
   @Override
   public void close() throws Exception {
+    CloseHook hook;
+    while ((hook = CLOSE_HOOKS.poll()) != null) {
+      try {
+        hook.run();
+      } catch (Exception ex) {
+        // A failing hook must not prevent the others (nor the report summary) from running
+        log.warn("Report close hook failed", ex);
+      }
+    }
+    try {
+      LeakMonitorExtension.suiteCompleted();
+    } catch (Exception ex) {
+      log.warn("Unable to report the suite leaks", ex);
+    }
     if (failedTestCount.get() > 0) {
       writeToReport(String.format("[X] Some tests did not pass (Failed tests %s/%s)",
         failedTestCount.get(), testCount.get()));
     } else {
       writeToReport(String.format("[✓] All tests (%s) passed successfully!!!", testCount.get()));
     }
+    for (Map.Entry<String, Queue<String>> section : SECTIONS.entrySet()) {
+      writeToReport(String.format("%n%s:", section.getKey()));
+      String entry;
+      while ((entry = section.getValue().poll()) != null) {
+        writeToReport("  " + entry);
+      }
+    }
+  }
+
+  /**
+   * Adds an entry to the given section of the report, sections are printed after the test summary.
+   */
+  public static void addToReport(String section, String entry) {
+    SECTIONS.computeIfAbsent(section, k -> new ConcurrentLinkedQueue<>()).add(entry);
+  }
+
+  /**
+   * Registers a hook to be run once all tests have completed and before the report is finalized.
+   */
+  public static void onClose(CloseHook hook) {
+    CLOSE_HOOKS.add(hook);
+  }
+
+  @FunctionalInterface
+  public interface CloseHook {
+    void run() throws Exception;
   }
 
   private void reportTestResult(ExtensionContext context) throws IOException {
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import org.eclipse.jkube.integrationtests.selection.TestSelection;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Optional;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+public class TestSelectionExtension implements ExecutionCondition {
+
+  @Override
+  public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+    if (context.getTestMethod().isPresent() || context.getTestClass().isEmpty()) {
+      // Selection is decided per class, methods inherit it
+      return ConditionEvaluationResult.enabled("Selected test class");
+    }
+    final Optional<String> exclusion = TestSelection.exclusion(context.getRequiredTestClass());
+    if (exclusion.isPresent()) {
+      addToReport(TestSelection.REPORT_SECTION,
+        String.format("%s: skipped, %s", context.getRequiredTestClass().getSimpleName(), exclusion.get()));
+      return ConditionEvaluationResult.disabled(exclusion.get());
+    }
+    return ConditionEvaluationResult.enabled("Selected test class");
+  }
+}
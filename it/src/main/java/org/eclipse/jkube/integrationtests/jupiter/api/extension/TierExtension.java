@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import org.eclipse.jkube.integrationtests.Checkpoints;
+import org.eclipse.jkube.integrationtests.jupiter.api.Tier;
+import org.eclipse.jkube.integrationtests.parallel.Tiers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Skips the tests of the tiers not enabled by <code>it.tiers</code> and counts the tests run in each tier.
+ *
+ * <p> The steps of an ordered test class consume the outputs of the previous ones (e.g. <code>k8s:apply</code>
+ * applies the manifests generated by <code>k8s:resource</code>), a step following a skipped filesystem or Docker
+ * step is skipped too. Unless the run resumes from checkpoints (<code>it.resume</code>), which reuses the outputs of
+ * the previous run.
+ */
+public class TierExtension implements ExecutionCondition, InvocationInterceptor {
+
+  @Override
+  public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+    if (context.getTestMethod().isEmpty()) {
+      return ConditionEvaluationResult.enabled("Tiers apply to test methods");
+    }
+    final Tier.Level level = Tiers.tierOf(context.getRequiredTestMethod(), context.getDisplayName());
+    if (!Tiers.isEnabled(level)) {
+      return ConditionEvaluationResult.disabled(String.format("%s tier not enabled (%s=%s)",
+        level, Tiers.TIERS_PROPERTY, System.getProperty(Tiers.TIERS_PROPERTY)));
+    }
+    final Optional<Method> disabledPredecessor = disabledPredecessor(context.getRequiredTestClass(),
+      context.getRequiredTestMethod());
+    if (disabledPredecessor.isPresent()) {
+      return ConditionEvaluationResult.disabled(String.format("Depends on %s, %s tier not enabled (%s=%s)",
+        disabledPredecessor.get().getName(), tierOf(disabledPredecessor.get()), Tiers.TIERS_PROPERTY,
+        System.getProperty(Tiers.TIERS_PROPERTY)));
+    }
+    return ConditionEvaluationResult.enabled(level + " tier enabled");
+  }
+
+  /**
+   * The first filesystem or Docker step preceding the provided one in its ordered class whose tier is not enabled.
+   */
+  private static Optional<Method> disabledPredecessor(Class<?> testClass, Method test) {
+    if (Checkpoints.isResumeEnabled() || AnnotationSupport.findAnnotation(testClass, TestMethodOrder.class)
+      .map(TestMethodOrder::value).filter(MethodOrderer.OrderAnnotation.class::equals).isEmpty()) {
+      return Optional.empty();
+    }
+    final int order = order(test);
+    return AnnotationSupport.findAnnotatedMethods(testClass, Test.class, HierarchyTraversalMode.TOP_DOWN).stream()
+      .filter(m -> order(m) < order)
+      .filter(m -> tierOf(m) != Tier.Level.CLUSTER && !Tiers.isEnabled(tierOf(m)))
+      .min(Comparator.comparingInt(TierExtension::order));
+  }
+
+  private static int order(Method method) {
+    return AnnotationSupport.findAnnotation(method, Order.class).map(Order::value).orElse(Order.DEFAULT);
+  }
+
+  private static Tier.Level tierOf(Method method) {
+    return Tiers.tierOf(method, AnnotationSupport.findAnnotation(method, DisplayName.class)
+      .map(DisplayName::value).orElse(method.getName()));
+  }
+
+  @Override
+  public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+    ExtensionContext extensionContext) throws Throwable {
+    final Tier.Level level = Tiers.tierOf(invocationContext.getExecutable(), extensionContext.getDisplayName());
+    Tiers.record(level);
+    invocation.proceed();
+  }
+}
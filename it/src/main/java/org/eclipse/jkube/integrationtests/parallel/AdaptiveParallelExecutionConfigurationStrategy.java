@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.parallel;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Sizes the JUnit worker pool from the machine, Docker daemon and cluster resources.
+ *
+ * <p> The pool is sized for the maximum width ({@link ParallelismAdvisor#maxWidth()}), the
+ * {@link ParallelismGovernor} narrows it to the width advised before each test class.
+ */
+public class AdaptiveParallelExecutionConfigurationStrategy implements ParallelExecutionConfigurationStrategy {
+
+  static final String REPORT_SECTION = "Parallelism decisions";
+  private static final Logger log = LoggerFactory.getLogger(AdaptiveParallelExecutionConfigurationStrategy.class);
+  private static final int KEEP_ALIVE_SECONDS = 30;
+
+  @Override
+  public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+    final int poolWidth = ParallelismAdvisor.maxWidth();
+    final ParallelismAdvisor.Decision initial = ParallelismAdvisor.evaluate();
+    ParallelismGovernor.governor().start(initial);
+    log.info("Worker pool sized to {}, starting with {}", poolWidth, initial);
+    addToReport(REPORT_SECTION, String.format("startup: pool=%s, %s", poolWidth, initial));
+    return new Configuration(poolWidth);
+  }
+
+  private static final class Configuration implements ParallelExecutionConfiguration {
+
+    private final int parallelism;
+
+    private Configuration(int parallelism) {
+      this.parallelism = parallelism;
+    }
+
+    @Override
+    public int getParallelism() {
+      return parallelism;
+    }
+
+    @Override
+    public int getMinimumRunnable() {
+      return parallelism;
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+      // Same headroom as JUnit's built-in strategies for blocked workers
+      return parallelism + 256;
+    }
+
+    @Override
+    public int getCorePoolSize() {
+      return parallelism;
+    }
+
+    @Override
+    public int getKeepAliveSeconds() {
+      return KEEP_ALIVE_SECONDS;
+    }
+  }
+}
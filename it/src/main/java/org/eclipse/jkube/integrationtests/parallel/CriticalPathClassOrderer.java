@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.parallel;
+
+import org.eclipse.jkube.integrationtests.selection.TestSelection;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Starts the longest test classes first, so that slow classes (e.g. native builds) don't stretch the end of the run.
+ *
+ * <p> See {@link SuitePlan} for the ordering rules.
+ */
+public class CriticalPathClassOrderer implements ClassOrderer {
+
+  private static final Logger log = LoggerFactory.getLogger(CriticalPathClassOrderer.class);
+
+  @Override
+  public void orderClasses(ClassOrdererContext context) {
+    final List<? extends ClassDescriptor> descriptors = context.getClassDescriptors();
+    final List<Class<?>> selected = TestSelection.select(
+      descriptors.stream().map(ClassDescriptor::getTestClass).collect(Collectors.toList()));
+    final SuitePlan plan = SuitePlan.plan(selected, ParallelismAdvisor.evaluate().getWidth());
+    final List<Class<?>> order = plan.getOrder();
+    // Classes that aren't selected are skipped, they go last
+    descriptors.sort(Comparator.comparingInt(d -> order.contains(d.getTestClass()) ?
+      order.indexOf(d.getTestClass()) : Integer.MAX_VALUE));
+    log.info("Predicted makespan {}s for {} classes on {} workers ({} without recorded duration)",
+      plan.getPredictedMakespanMillis() / 1000, order.size(), plan.getWidth(), plan.getEstimatedCount());
+    addToReport(SuitePlan.REPORT_SECTION, String.format("predicted makespan: %ss (%s classes, %s workers, %s estimated)",
+      plan.getPredictedMakespanMillis() / 1000, order.size(), plan.getWidth(), plan.getEstimatedCount()));
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.parallel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durations of the test classes and test methods recorded by previous runs.
+ *
+ * <p> Durations are persisted to <code>jkube-durations.properties</code> in the <code>it.durations.dir</code>
+ * directory (<code>target</code> by default) as <code>ClassName=millis</code> and
+ * <code>ClassName#method=millis</code> entries. A new measurement is averaged with the previous one so that a single
+ * slow run doesn't reshuffle the whole schedule.
+ *
+ * <p> The durations loaded at startup never change during the run, anything derived from them (ordering, shards)
+ * is deterministic for a given file.
+ */
+public final class DurationHistory {
+
+  public static final String DIRECTORY_PROPERTY = "it.durations.dir";
+  private static final Logger log = LoggerFactory.getLogger(DurationHistory.class);
+  private static final String FILE_NAME = "jkube-durations.properties";
+  private static final double SMOOTHING = 0.5;
+  private static DurationHistory instance;
+
+  private final Path file;
+  private final Map<String, Long> previous;
+  private final Map<String, Long> recorded;
+
+  private DurationHistory(Path file, Map<String, Long> previous) {
+    this.file = file;
+    this.previous = Collections.unmodifiableMap(previous);
+    this.recorded = new ConcurrentHashMap<>();
+  }
+
+  public static synchronized DurationHistory durationHistory() {
+    if (instance == null) {
+      final Path file = Paths.get(System.getProperty(DIRECTORY_PROPERTY, "target"), FILE_NAME);
+      instance = new DurationHistory(file, load(file));
+    }
+    return instance;
+  }
+
+  public OptionalLong classDuration(Class<?> testClass) {
+    return get(testClass.getName());
+  }
+
+  public OptionalLong methodDuration(Class<?> testClass, String method) {
+    return get(testClass.getName() + "#" + method);
+  }
+
+  /**
+   * Mean duration of the classes with history, used as the estimate for classes that haven't run yet.
+   */
+  public OptionalLong meanClassDuration() {
+    final double mean = previous.entrySet().stream()
+      .filter(e -> !e.getKey().contains("#"))
+      .mapToLong(Map.Entry::getValue)
+      .average().orElse(-1);
+    return mean < 0 ? OptionalLong.empty() : OptionalLong.of(Math.round(mean));
+  }
+
+  public void recordClass(Class<?> testClass, long millis) {
+    recorded.put(testClass.getName(), millis);
+  }
+
+  public void recordMethod(Class<?> testClass, String method, long millis) {
+    recorded.put(testClass.getName() + "#" + method, millis);
+  }
+
+  /**
+   * Merges the durations recorded during this run with the previous ones and writes them to the history file.
+   */
+  public synchronized void save() throws IOException {
+    final Map<String, Long> merged = new TreeMap<>(previous);
+    for (Map.Entry<String, Long> entry : recorded.entrySet()) {
+      final Long old = previous.get(entry.getKey());
+      merged.put(entry.getKey(), old == null ? entry.getValue() :
+        Math.round(SMOOTHING * entry.getValue() + (1 - SMOOTHING) * old));
+    }
+    final List<String> lines = new ArrayList<>();
+    lines.add("# Test durations in milliseconds, generated by the JKube integration tests");
+    merged.forEach((key, millis) -> lines.add(key + "=" + millis));
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    Files.write(file, lines, StandardCharsets.UTF_8);
+  }
+
+  private OptionalLong get(String key) {
+    final Long millis = previous.get(key);
+    return millis == null ? OptionalLong.empty() : OptionalLong.of(millis);
+  }
+
+  private static Map<String, Long> load(Path file) {
+    final Map<String, Long> durations = new TreeMap<>();
+    if (!Files.isRegularFile(file)) {
+      log.info("No test duration history found in {}", file);
+      return durations;
+    }
+    try {
+      for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        final int separator = line.lastIndexOf('=');
+        if (line.startsWith("#") || separator < 0) {
+          continue;
+        }
+        try {
+          durations.put(line.substring(0, separator).trim(), Long.parseLong(line.substring(separator + 1).trim()));
+        } catch (NumberFormatException ex) {
+          log.debug("Ignoring invalid duration entry: {}", line);
+        }
+      }
+    } catch (IOException ex) {
+      log.warn("Unable to read the test duration history from {}", file, ex);
+    }
+    return durations;
+  }
+}
@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.parallel;
+
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import org.eclipse.jkube.integrationtests.ResourceTracker;
+import org.eclipse.jkube.integrationtests.Resources;
+import org.eclipse.jkube.integrationtests.cli.CliUtils;
+import org.eclipse.jkube.integrationtests.cli.CliUtils.CliResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes how many test classes can run concurrently on this machine.
+ *
+ * <p> The width is the minimum of the constraints imposed by:
+ * <ul>
+ *   <li>the available cores (<code>it.parallel.cpusPerWorker</code> cores per worker, 2 by default)</li>
+ *   <li>the free physical memory (<code>it.parallel.memoryPerWorker</code> per worker, 1536Mi by default)</li>
+ *   <li>the Docker daemon CPUs not used by running containers
+ *     (<code>it.parallel.dockerCpusPerBuild</code> per build, 2 by default)</li>
+ *   <li>the cluster allocatable resources (the default application size of the cluster admission)</li>
+ * </ul>
+ * bounded by <code>it.parallel.max</code>. Setting <code>it.parallel</code> forces a fixed width.
+ *
+ * <p> The free memory and Docker constraints measure the headroom left by the workers already running, the running
+ * workers are added back so that every constraint is a total width.
+ *
+ * <p> The Docker and cluster constraints are expensive to compute and are cached for 30 seconds.
+ */
+public final class ParallelismAdvisor {
+
+  public static final String PARALLEL_PROPERTY = "it.parallel";
+  public static final String MAX_PROPERTY = "it.parallel.max";
+  public static final String CPUS_PER_WORKER_PROPERTY = "it.parallel.cpusPerWorker";
+  public static final String MEMORY_PER_WORKER_PROPERTY = "it.parallel.memoryPerWorker";
+  public static final String DOCKER_CPUS_PER_BUILD_PROPERTY = "it.parallel.dockerCpusPerBuild";
+  private static final Logger log = LoggerFactory.getLogger(ParallelismAdvisor.class);
+  private static final long EXTERNAL_CONSTRAINTS_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+  private static final Resources DEFAULT_APPLICATION = new Resources(500L, 512L * 1024 * 1024);
+
+  private static Constraint dockerConstraint;
+  private static Constraint clusterConstraint;
+  private static long externalConstraintsEvaluatedAt;
+
+  private ParallelismAdvisor() { }
+
+  /**
+   * Upper bound for the width, used to size the worker pool.
+   */
+  public static int maxWidth() {
+    if (System.getProperty(PARALLEL_PROPERTY) != null) {
+      return positiveInteger(PARALLEL_PROPERTY, 1);
+    }
+    return positiveInteger(MAX_PROPERTY, cores().width);
+  }
+
+  /**
+   * Width before any test class runs.
+   */
+  public static Decision evaluate() {
+    return evaluate(0);
+  }
+
+  /**
+   * Width (total number of concurrent test classes) while the provided number of test classes are running.
+   */
+  public static synchronized Decision evaluate(int running) {
+    if (System.getProperty(PARALLEL_PROPERTY) != null) {
+      final List<Constraint> constraints = new ArrayList<>();
+      constraints.add(new Constraint(PARALLEL_PROPERTY, maxWidth()));
+      return new Decision(maxWidth(), constraints);
+    }
+    if (System.nanoTime() - externalConstraintsEvaluatedAt > EXTERNAL_CONSTRAINTS_TTL_NANOS) {
+      dockerConstraint = docker();
+      clusterConstraint = cluster();
+      externalConstraintsEvaluatedAt = System.nanoTime();
+    }
+    final List<Constraint> constraints = new ArrayList<>();
+    constraints.add(cores());
+    constraints.add(memory());
+    constraints.add(dockerConstraint);
+    constraints.add(clusterConstraint);
+    constraints.add(new Constraint(MAX_PROPERTY, maxWidth()));
+    final int width = constraints.stream().mapToInt(c -> c.widthWith(running)).min().orElse(1);
+    return new Decision(Math.max(1, width), constraints);
+  }
+
+  private static Constraint cores() {
+    final int cores = Runtime.getRuntime().availableProcessors();
+    return new Constraint(String.format("cores=%s", cores), cores / positiveInteger(CPUS_PER_WORKER_PROPERTY, 2));
+  }
+
+  private static Constraint memory() {
+    final long memoryPerWorker = Resources.bytes(new Quantity(System.getProperty(MEMORY_PER_WORKER_PROPERTY, "1536Mi")));
+    final java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean) {
+      @SuppressWarnings("deprecation") // getFreeMemorySize is not available in Java 11
+      final long free = ((com.sun.management.OperatingSystemMXBean) os).getFreePhysicalMemorySize();
+      return Constraint.headroom(String.format("freeMemory=%sMi", free / (1024 * 1024)), (int) (free / memoryPerWorker));
+    }
+    return Constraint.unconstrained("freeMemory=unknown");
+  }
+
+  private static Constraint docker() {
+    try {
+      final CliResult result = CliUtils.runCommand("docker -l error info --format \"{{.NCPU}} {{.ContainersRunning}}\"");
+      if (result.getExitCode() != 0) {
+        return Constraint.unconstrained("docker=unavailable");
+      }
+      final String[] info = result.getOutput().trim().split("\\s+");
+      final int cpus = Integer.parseInt(info[0]);
+      final int running = Integer.parseInt(info[1]);
+      return Constraint.headroom(String.format("docker cpus=%s running=%s", cpus, running),
+        Math.max(cpus - running, 0) / positiveInteger(DOCKER_CPUS_PER_BUILD_PROPERTY, 2));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return Constraint.unconstrained("docker=unavailable");
+    } catch (Exception ex) {
+      log.debug("Unable to retrieve Docker daemon info", ex);
+      return Constraint.unconstrained("docker=unavailable");
+    }
+  }
+
+  private static Constraint cluster() {
+    try (
+      KubernetesClient kc = new KubernetesClientBuilder().build();
+      ResourceTracker.Handle tracked = ResourceTracker.track("client", "ParallelismAdvisor KubernetesClient")
+    ) {
+      Resources allocatable = Resources.NONE;
+      for (Node node : kc.nodes().list().getItems()) {
+        allocatable = allocatable.plus(new Resources(
+          Resources.millis(node.getStatus().getAllocatable().get("cpu")),
+          Resources.bytes(node.getStatus().getAllocatable().get("memory"))));
+      }
+      final int width = (int) Math.min(
+        allocatable.getCpuMillis() / DEFAULT_APPLICATION.getCpuMillis(),
+        allocatable.getMemoryBytes() / DEFAULT_APPLICATION.getMemoryBytes());
+      return new Constraint(String.format("cluster %s", allocatable), width);
+    } catch (Exception ex) {
+      log.debug("Unable to retrieve the cluster allocatable resources", ex);
+      return Constraint.unconstrained("cluster=unavailable");
+    }
+  }
+
+  private static int positiveInteger(String property, int defaultValue) {
+    final String value = System.getProperty(property);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      final int parsed = Integer.parseInt(value.trim());
+      if (parsed > 0) {
+        return parsed;
+      }
+    } catch (NumberFormatException ex) {
+      // Reported below
+    }
+    throw new IllegalArgumentException(String.format("Invalid %s '%s', expected a positive integer", property, value));
+  }
+
+  public static final class Decision {
+
+    private final int width;
+    private final List<Constraint> constraints;
+
+    private Decision(int width, List<Constraint> constraints) {
+      this.width = width;
+      this.constraints = constraints;
+    }
+
+    public int getWidth() {
+      return width;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder sb = new StringBuilder("width=").append(width).append(" (");
+      for (int it = 0; it < constraints.size(); it++) {
+        sb.append(it == 0 ? "" : ", ").append(constraints.get(it));
+      }
+      return sb.append(')').toString();
+    }
+  }
+
+  private static final class Constraint {
+
+    private final String reason;
+    private final int width;
+    private final boolean headroom;
+
+    private Constraint(String reason, int width) {
+      this(reason, width, false);
+    }
+
+    private Constraint(String reason, int width, boolean headroom) {
+      this.reason = reason;
+      this.width = headroom ? Math.max(0, width) : Math.max(1, width);
+      this.headroom = headroom;
+    }
+
+    private static Constraint unconstrained(String reason) {
+      return new Constraint(reason, Integer.MAX_VALUE);
+    }
+
+    /**
+     * A constraint measuring the capacity left for additional workers.
+     */
+    private static Constraint headroom(String reason, int width) {
+      return new Constraint(reason, width, true);
+    }
+
+    private int widthWith(int running) {
+      if (!headroom || width == Integer.MAX_VALUE) {
+        return width;
+      }
+      return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, (long) width + running));
+    }
+
+    @Override
+    public String toString() {
+      if (width == Integer.MAX_VALUE) {
+        return reason;
+      }
+      return headroom ? reason + " -> running+" + width : reason + " -> " + width;
+    }
+  }
+}
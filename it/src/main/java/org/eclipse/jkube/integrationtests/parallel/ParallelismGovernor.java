@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.parallel;
+
+import org.eclipse.jkube.integrationtests.Deadline;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+import static org.eclipse.jkube.integrationtests.parallel.AdaptiveParallelExecutionConfigurationStrategy.REPORT_SECTION;
+
+/**
+ * Limits the number of test classes running concurrently to the width advised by the {@link ParallelismAdvisor}.
+ *
+ * <p> The width is re-evaluated every <code>it.parallel.reevaluate</code> (5s by default) on a background thread, so
+ * that acquiring and releasing a slot never waits for the Docker or cluster queries of the advisor.
+ *
+ * <p> The governor is only active when the suite runs with the {@link AdaptiveParallelExecutionConfigurationStrategy}.
+ */
+public final class ParallelismGovernor {
+
+  public static final String REEVALUATE_PROPERTY = "it.parallel.reevaluate";
+  private static final Logger log = LoggerFactory.getLogger(ParallelismGovernor.class);
+  private static final ParallelismGovernor INSTANCE = new ParallelismGovernor();
+
+  private volatile ParallelismAdvisor.Decision advised;
+  private volatile int running;
+  private boolean active;
+  private int width;
+  private ScheduledExecutorService scheduler;
+
+  private ParallelismGovernor() { }
+
+  public static ParallelismGovernor governor() {
+    return INSTANCE;
+  }
+
+  synchronized void start(ParallelismAdvisor.Decision initial) {
+    active = true;
+    advised = initial;
+    width = initial.getWidth();
+    final long periodMillis = Deadline.parseDuration(System.getProperty(REEVALUATE_PROPERTY, "5s")).toMillis();
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      final Thread thread = new Thread(r, "parallelism-governor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::reevaluate, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    ReportExtension.onClose(scheduler::shutdownNow);
+  }
+
+  /**
+   * Blocks until the test class can start.
+   */
+  public synchronized void acquire(String testClass) throws InterruptedException {
+    if (!active) {
+      return;
+    }
+    updateWidth();
+    while (running >= width) {
+      log.debug("{} waiting for a slot ({} running, width {})", testClass, running, width);
+      wait();
+      updateWidth();
+    }
+    running++;
+  }
+
+  public synchronized void release() {
+    if (!active) {
+      return;
+    }
+    running--;
+    notifyAll();
+  }
+
+  /**
+   * Evaluates the width outside the governor's lock and wakes up the waiting classes.
+   */
+  private void reevaluate() {
+    try {
+      advised = ParallelismAdvisor.evaluate(running);
+    } catch (RuntimeException ex) {
+      log.warn("Unable to re-evaluate the parallelism", ex);
+      return;
+    }
+    synchronized (this) {
+      updateWidth();
+      notifyAll();
+    }
+  }
+
+  private void updateWidth() {
+    final ParallelismAdvisor.Decision decision = advised;
+    if (decision.getWidth() != width) {
+      log.info("Parallelism changed from {} to {} with {} running: {}", width, decision.getWidth(), running, decision);
+      addToReport(REPORT_SECTION, String.format("%s running: %s -> %s", running, width, decision));
+      width = decision.getWidth();
+    }
+  }
+}
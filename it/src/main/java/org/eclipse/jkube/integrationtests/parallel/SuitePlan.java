@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.parallel;
+
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.jkube.integrationtests.parallel.DurationHistory.durationHistory;
+
+/**
+ * Execution plan of the test classes, built from the {@link DurationHistory}.
+ *
+ * <p> Classes are ordered longest first (LPT scheduling). Classes sharing a {@link ResourceLock} run one after the
+ * other, so they are ordered by the total duration of the chain they belong to. Classes without history are
+ * estimated with the mean duration of the rest (<code>it.durations.default</code>, 5 minutes, if there's no history
+ * at all).
+ *
+ * <p> The makespan of the suite is predicted by simulating the plan on the advised number of workers.
+ */
+public final class SuitePlan {
+
+  public static final String DEFAULT_DURATION_PROPERTY = "it.durations.default";
+  public static final String REPORT_SECTION = "Suite schedule (predicted vs actual)";
+  private static final Map<Class<?>, Set<String>> LOCKS = new ConcurrentHashMap<>();
+  private static SuitePlan current;
+
+  private final Map<Class<?>, Entry> entries;
+  private final int width;
+  private final long predictedMakespanMillis;
+
+  private SuitePlan(Map<Class<?>, Entry> entries, int width) {
+    this.entries = Collections.unmodifiableMap(entries);
+    this.width = width;
+    this.predictedMakespanMillis = predictMakespan(entries.values(), width);
+  }
+
+  /**
+   * Plans the execution of the provided classes and makes it the current plan.
+   */
+  public static synchronized SuitePlan plan(List<Class<?>> testClasses, int width) {
+    final Map<Class<?>, Entry> entries = new LinkedHashMap<>();
+    for (Chain chain : chains(testClasses)) {
+      chain.entries.forEach(e -> entries.put(e.testClass, e));
+    }
+    current = new SuitePlan(entries, width);
+    return current;
+  }
+
+  /**
+   * Groups the provided classes in chains of classes transitively sharing a {@link ResourceLock} (classes without
+   * locks are chains on their own).
+   *
+   * <p> Chains are sorted by total duration and their classes by duration, longest first, ties are broken by name
+   * so that the result is deterministic for a given history.
+   */
+  public static List<Chain> chains(List<Class<?>> testClasses) {
+    final long estimate = durationHistory().meanClassDuration()
+      .orElse(TimeUnit.MINUTES.toMillis(Long.getLong(DEFAULT_DURATION_PROPERTY, 5L)));
+    final List<Entry> entries = new ArrayList<>();
+    for (Class<?> testClass : testClasses) {
+      final OptionalLong recorded = durationHistory().classDuration(testClass);
+      entries.add(new Entry(testClass, recorded.orElse(estimate), !recorded.isPresent(), locks(testClass)));
+    }
+    entries.sort(Comparator.<Entry>comparingLong(e -> e.predictedMillis).reversed()
+      .thenComparing(e -> e.testClass.getName()));
+    // Union of the classes transitively sharing a lock
+    final Map<Entry, Entry> parents = new HashMap<>();
+    final Map<String, Entry> lockOwners = new HashMap<>();
+    for (Entry entry : entries) {
+      parents.put(entry, entry);
+      for (String lock : entry.locks) {
+        final Entry owner = lockOwners.putIfAbsent(lock, entry);
+        if (owner != null) {
+          parents.put(root(parents, entry), root(parents, owner));
+        }
+      }
+    }
+    final Map<Entry, Chain> byRoot = new LinkedHashMap<>();
+    entries.forEach(e -> byRoot.computeIfAbsent(root(parents, e), r -> new Chain()).add(e));
+    final List<Chain> chains = new ArrayList<>(byRoot.values());
+    chains.sort(Comparator.comparingLong(Chain::getPredictedMillis).reversed()
+      .thenComparing(c -> c.entries.get(0).testClass.getName()));
+    return chains;
+  }
+
+  public static synchronized Optional<SuitePlan> current() {
+    return Optional.ofNullable(current);
+  }
+
+  public List<Class<?>> getOrder() {
+    return new ArrayList<>(entries.keySet());
+  }
+
+  public Optional<Entry> getEntry(Class<?> testClass) {
+    return Optional.ofNullable(entries.get(testClass));
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public long getPredictedMakespanMillis() {
+    return predictedMakespanMillis;
+  }
+
+  public long getEstimatedCount() {
+    return entries.values().stream().filter(e -> e.estimated).count();
+  }
+
+  /**
+   * Predicted makespan of the provided classes, ordered as {@link #plan(List, int)} would.
+   */
+  public static long predictMakespan(List<Class<?>> testClasses, int width) {
+    final List<Entry> ordered = new ArrayList<>();
+    chains(testClasses).forEach(c -> ordered.addAll(c.entries));
+    return predictMakespan(ordered, width);
+  }
+
+  /**
+   * Simulates the greedy assignment of the entries (in order) to the first free worker, an entry holding a lock
+   * can't start until the previous holder of the same lock completes.
+   */
+  static long predictMakespan(Iterable<Entry> ordered, int width) {
+    final PriorityQueue<Long> workers = new PriorityQueue<>();
+    for (int it = 0; it < Math.max(1, width); it++) {
+      workers.add(0L);
+    }
+    final Map<String, Long> lockReleases = new HashMap<>();
+    long makespan = 0L;
+    for (Entry entry : ordered) {
+      long start = workers.poll();
+      for (String lock : entry.locks) {
+        start = Math.max(start, lockReleases.getOrDefault(lock, 0L));
+      }
+      final long end = start + entry.predictedMillis;
+      entry.locks.forEach(lock -> lockReleases.put(lock, end));
+      workers.add(end);
+      makespan = Math.max(makespan, end);
+    }
+    return makespan;
+  }
+
+  private static Entry root(Map<Entry, Entry> parents, Entry entry) {
+    Entry root = entry;
+    while (parents.get(root) != root) {
+      root = parents.get(root);
+    }
+    return root;
+  }
+
+  private static Set<String> locks(Class<?> testClass) {
+    return LOCKS.computeIfAbsent(testClass, SuitePlan::findLocks);
+  }
+
+  private static Set<String> findLocks(Class<?> testClass) {
+    final Set<String> locks = new TreeSet<>();
+    AnnotationSupport.findRepeatableAnnotations(testClass, ResourceLock.class).forEach(l -> locks.add(l.value()));
+    for (Method method : ReflectionSupport.findMethods(testClass, m -> true, HierarchyTraversalMode.TOP_DOWN)) {
+      AnnotationSupport.findRepeatableAnnotations(method, ResourceLock.class).forEach(l -> locks.add(l.value()));
+    }
+    return locks;
+  }
+
+  public static final class Chain {
+
+    private final List<Entry> entries = new ArrayList<>();
+    private long predictedMillis;
+
+    private void add(Entry entry) {
+      entries.add(entry);
+      predictedMillis += entry.predictedMillis;
+    }
+
+    public List<Entry> getEntries() {
+      return Collections.unmodifiableList(entries);
+    }
+
+    public long getPredictedMillis() {
+      return predictedMillis;
+    }
+  }
+
+  public static final class Entry {
+
+    private final Class<?> testClass;
+    private final long predictedMillis;
+    private final boolean estimated;
+    private final Set<String> locks;
+
+    private Entry(Class<?> testClass, long predictedMillis, boolean estimated, Set<String> locks) {
+      this.testClass = testClass;
+      this.predictedMillis = predictedMillis;
+      this.estimated = estimated;
+      this.locks = locks;
+    }
+
+    public Class<?> getTestClass() {
+      return testClass;
+    }
+
+    public long getPredictedMillis() {
+      return predictedMillis;
+    }
+
+    /**
+     * The class has no recorded duration, the prediction is an estimate.
+     */
+    public boolean isEstimated() {
+      return estimated;
+    }
+
+    public Set<String> getLocks() {
+      return locks;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.parallel;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.Tier;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.onClose;
+
+/**
+ * Classifies tests into tiers ({@link Tier.Level}).
+ *
+ * <p> The tier of a test is declared with {@link Tier} (on the method or the class), or inferred from the JKube goal
+ * in its display name (<code>k8s:resource</code>, <code>ocHelm</code>...):
+ * <ul>
+ *   <li>resource, helm and config view goals are filesystem tests.</li>
+ *   <li>Kubernetes build, push and helm-push goals are Docker tests.</li>
+ *   <li>Anything else, OpenShift builds included, is a cluster test.</li>
+ * </ul>
+ *
+ * <p> Tiers don't have their own parallelism: test classes are scheduled as a whole (by JUnit and the
+ * {@link ParallelismGovernor}) and the steps of a class run in their order. Filesystem tests don't take part in the
+ * class-level gates (the governor slot and the cluster admission), they still run after the earlier steps of their
+ * class. The <code>it.tiers</code> system property (e.g. <code>filesystem,docker</code>) restricts the run to the
+ * listed tiers, the steps depending on a skipped filesystem or Docker step are skipped too.
+ */
+public final class Tiers {
+
+  public static final String TIERS_PROPERTY = "it.tiers";
+  private static final String REPORT_SECTION = "Tiers (tests)";
+  private static final Pattern GOAL = Pattern.compile("^(?:Final )?(k8s|oc):?([A-Za-z-]+)");
+  private static final Set<String> FILESYSTEM_GOALS = Set.of("resource", "helm", "config-view");
+  private static final Set<String> DOCKER_GOALS = Set.of("build", "push", "helm-push");
+  private static final Map<Tier.Level, AtomicLong> COUNTS = new EnumMap<>(Tier.Level.class);
+
+  static {
+    for (Tier.Level level : Tier.Level.values()) {
+      COUNTS.put(level, new AtomicLong());
+    }
+    onClose(Tiers::report);
+  }
+
+  private Tiers() { }
+
+  public static Tier.Level tierOf(Method method, String displayName) {
+    final Optional<Tier> declared = AnnotationSupport.findAnnotation(method, Tier.class)
+      .or(() -> AnnotationSupport.findAnnotation(method.getDeclaringClass(), Tier.class));
+    return declared.map(Tier::value).orElseGet(() -> tierOf(displayName));
+  }
+
+  /**
+   * Infers the tier from the JKube goal the provided name (or display name) starts with.
+   */
+  public static Tier.Level tierOf(String displayName) {
+    final Optional<String> goal = goalOf(displayName);
+    if (goal.isPresent()) {
+      final String name = goal.get().substring(goal.get().indexOf(':') + 1);
+      if (FILESYSTEM_GOALS.contains(name)) {
+        return Tier.Level.FILESYSTEM;
+      } else if (DOCKER_GOALS.contains(name) && !goal.get().equals("oc:build")) {
+        // OpenShift builds run in the cluster
+        return Tier.Level.DOCKER;
+      }
+    }
+    return Tier.Level.CLUSTER;
+  }
+
+  /**
+   * The JKube goal the provided name (or display name) starts with, normalized to its Maven form
+   * (e.g. <code>k8sHelmPush</code> is <code>k8s:helm-push</code>).
+   */
+  public static Optional<String> goalOf(String displayName) {
+    final Matcher matcher = GOAL.matcher(displayName);
+    if (!matcher.find()) {
+      return Optional.empty();
+    }
+    return Optional.of(matcher.group(1) + ":" +
+      matcher.group(2).replaceAll("([a-z])([A-Z])", "$1-$2").toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Whether the tier is enabled by <code>it.tiers</code> (all tiers are enabled by default).
+   */
+  public static boolean isEnabled(Tier.Level level) {
+    final String tiers = System.getProperty(TIERS_PROPERTY);
+    if (tiers == null || tiers.trim().isEmpty()) {
+      return true;
+    }
+    final Set<String> enabled = Arrays.stream(tiers.split(","))
+      .map(t -> t.trim().toUpperCase(Locale.ROOT)).collect(Collectors.toSet());
+    return enabled.contains(level.name());
+  }
+
+  /**
+   * Counts a test (or scenario goal) of the tier for the report.
+   */
+  public static void record(Tier.Level level) {
+    COUNTS.get(level).incrementAndGet();
+  }
+
+  private static void report() {
+    for (Tier.Level level : Tier.Level.values()) {
+      if (COUNTS.get(level).get() > 0) {
+        addToReport(REPORT_SECTION, String.format("%s: %s", level, COUNTS.get(level).get()));
+      }
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.selection;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.Gradle;
+import org.eclipse.jkube.integrationtests.parallel.Tiers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Features exercised by a test class, inferred from its declaration:
+ * <ul>
+ *   <li><code>framework:</code> and <code>sample:</code> from its package (e.g. <code>springboot</code>,
+ *     <code>springboot.complete</code>).</li>
+ *   <li><code>goal:</code> from the display names of its tests (e.g. <code>k8s:resource</code>).</li>
+ *   <li><code>strategy:</code> the image build strategy (docker, jib, buildpacks or s2i) from its name and platform.</li>
+ *   <li><code>platform:</code> from its tags, and <code>tool:</code> (maven or gradle).</li>
+ * </ul>
+ */
+public final class Coverage {
+
+  private static final String BASE_PACKAGE = "org.eclipse.jkube.integrationtests.";
+  private static final Map<Class<?>, Set<String>> FEATURES = new ConcurrentHashMap<>();
+
+  private Coverage() { }
+
+  public static Set<String> of(Class<?> testClass) {
+    return FEATURES.computeIfAbsent(testClass, Coverage::infer);
+  }
+
+  private static Set<String> infer(Class<?> testClass) {
+    final Set<String> features = new TreeSet<>();
+    final String packageName = testClass.getPackageName();
+    if (packageName.startsWith(BASE_PACKAGE)) {
+      final String sample = packageName.substring(BASE_PACKAGE.length());
+      features.add("framework:" + sample.split("\\.")[0]);
+      features.add("sample:" + sample);
+    }
+    for (Method method : ReflectionSupport.findMethods(testClass,
+      m -> AnnotationSupport.isAnnotated(m, DisplayName.class), HierarchyTraversalMode.TOP_DOWN)) {
+      Tiers.goalOf(method.getAnnotation(DisplayName.class).value()).ifPresent(g -> features.add("goal:" + g));
+    }
+    final Set<String> platforms = new TreeSet<>();
+    AnnotationSupport.findRepeatableAnnotations(testClass, Tag.class).forEach(t -> platforms.add(t.value()));
+    platforms.forEach(p -> features.add("platform:" + p));
+    features.add("strategy:" + strategy(testClass.getSimpleName(), platforms.contains("OpenShift")));
+    features.add("tool:" + (ReflectionSupport.findFields(testClass, f -> f.isAnnotationPresent(Gradle.class),
+      HierarchyTraversalMode.TOP_DOWN).isEmpty() ? "maven" : "gradle"));
+    return features;
+  }
+
+  private static String strategy(String testClassName, boolean openShift) {
+    if (testClassName.contains("Jib")) {
+      return "jib";
+    } else if (testClassName.contains("Buildpack")) {
+      return "buildpacks";
+    } else if (openShift && !testClassName.contains("Docker")) {
+      return "s2i";
+    }
+    return "docker";
+  }
+}
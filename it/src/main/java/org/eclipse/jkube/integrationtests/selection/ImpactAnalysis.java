@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.selection;
+
+import org.eclipse.jkube.integrationtests.Project;
+import org.eclipse.jkube.integrationtests.cli.CliUtils;
+import org.eclipse.jkube.integrationtests.cli.CliUtils.CliResult;
+import org.eclipse.jkube.integrationtests.jupiter.api.Gradle;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Maps the paths changed by a commit range (or provided explicitly) to the test classes they affect.
+ *
+ * <p> The changed paths, relative to the repository root, are read from:
+ * <ul>
+ *   <li><code>it.changes</code>: a comma separated list of paths, or a file with one path per line
+ *     (e.g. the output of <code>git diff --name-only</code>).</li>
+ *   <li><code>it.changes.since</code>: a git revision, the changes are those since its merge base with
+ *     <code>HEAD</code> (uncommitted changes included).</li>
+ * </ul>
+ * With none of them set every test class is affected.
+ *
+ * <p> A changed path affects:
+ * <ul>
+ *   <li>every test class if it belongs to the harness (<code>it/</code> other than test sources) or to the root build
+ *     (<code>pom.xml</code>, <code>.mvn/</code>, <code>mvnw</code>).</li>
+ *   <li>the test class itself if it's the source file of an ITCase, or every test class in the same package (and
+ *     subpackages) for any other test source (base classes, helpers).</li>
+ *   <li>the test classes of the modules containing it, for sample projects under <code>projects-to-be-tested/</code>.
+ *     A path outside of any tested module (parent poms, Gradle root build) affects the modules of the closest
+ *     directory containing tested modules.</li>
+ * </ul>
+ * Any other path (documentation, CI workflows) affects none.
+ *
+ * <p> The module of a {@link Project} is read from a throwaway instance of the test class, a test class that can't be
+ * instantiated is always affected.
+ */
+public final class ImpactAnalysis {
+
+  public static final String CHANGES_PROPERTY = "it.changes";
+  public static final String CHANGES_SINCE_PROPERTY = "it.changes.since";
+  private static final Logger log = LoggerFactory.getLogger(ImpactAnalysis.class);
+  private static final String TEST_SOURCES = "it/src/test/java/";
+  private static final String PROJECTS = "projects-to-be-tested/";
+  private static final List<String> ROOT_BUILD = Arrays.asList("pom.xml", "mvnw", "mvnw.cmd", ".mvn/");
+  private static ImpactAnalysis instance;
+
+  private final List<String> changes;
+  private final Set<String> modules;
+  private final Map<Class<?>, Boolean> affected;
+
+  private ImpactAnalysis(List<String> changes) {
+    this.changes = changes;
+    this.modules = new ConcurrentSkipListSet<>();
+    this.affected = new ConcurrentHashMap<>();
+  }
+
+  public static synchronized ImpactAnalysis impactAnalysis() {
+    if (instance == null) {
+      instance = new ImpactAnalysis(changes());
+      if (instance.isActive()) {
+        log.info("Impact analysis enabled, {} changed paths", instance.changes.size());
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Whether a set of changed paths was provided, otherwise every test class is affected.
+   */
+  public boolean isActive() {
+    return changes != null;
+  }
+
+  public List<String> getChanges() {
+    return changes == null ? Collections.emptyList() : Collections.unmodifiableList(changes);
+  }
+
+  /**
+   * Registers the test classes of the suite, their modules are needed to attribute the changes to sample projects
+   * outside of any tested module.
+   */
+  public void register(Iterable<Class<?>> testClasses) {
+    testClasses.forEach(c -> modules(c).ifPresent(modules::addAll));
+  }
+
+  public boolean isAffected(Class<?> testClass) {
+    if (!isActive()) {
+      return true;
+    }
+    return affected.computeIfAbsent(testClass, this::computeAffected);
+  }
+
+  private boolean computeAffected(Class<?> testClass) {
+    final Optional<Set<String>> resolvedModules = modules(testClass);
+    if (resolvedModules.isEmpty()) {
+      // Fail closed, the impact of the changes can't be determined
+      return true;
+    }
+    final Set<String> testClassModules = resolvedModules.get();
+    modules.addAll(testClassModules);
+    for (String change : changes) {
+      if (ROOT_BUILD.stream().anyMatch(change::startsWith)) {
+        return true;
+      }
+      if (change.startsWith(TEST_SOURCES)) {
+        if (affectedBySource(testClass, change.substring(TEST_SOURCES.length()))) {
+          return true;
+        }
+      } else if (change.startsWith("it/")) {
+        return true;
+      } else if (change.startsWith(PROJECTS) && (testClassModules.isEmpty()
+        || affectedModules(change, modules).stream().anyMatch(testClassModules::contains))) {
+        // Classes with an unknown module are affected by any sample project change
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean affectedBySource(Class<?> testClass, String source) {
+    Class<?> topLevel = testClass;
+    while (topLevel.getEnclosingClass() != null) {
+      topLevel = topLevel.getEnclosingClass();
+    }
+    final String testClassSource = topLevel.getName().replace('.', '/') + ".java";
+    if (source.equals(testClassSource)) {
+      return true;
+    }
+    if (source.endsWith("ITCase.java")) {
+      // A different test class
+      return false;
+    }
+    final int packageEnd = source.lastIndexOf('/');
+    return packageEnd < 0 || testClassSource.startsWith(source.substring(0, packageEnd + 1));
+  }
+
+  private static Set<String> affectedModules(String change, Set<String> modules) {
+    final Set<String> containing = modules.stream()
+      .filter(m -> change.startsWith(m + "/"))
+      .collect(Collectors.toCollection(TreeSet::new));
+    if (!containing.isEmpty()) {
+      return containing;
+    }
+    Path directory = Paths.get(change).getParent();
+    while (directory != null) {
+      final String prefix = directory.toString().replace('\\', '/') + "/";
+      final Set<String> below = modules.stream().filter(m -> m.startsWith(prefix)).collect(Collectors.toSet());
+      if (!below.isEmpty()) {
+        return below;
+      }
+      directory = directory.getParent();
+    }
+    return Collections.emptySet();
+  }
+
+  /**
+   * Sample project modules (relative to the repository root) exercised by the provided test class.
+   *
+   * @return the modules, or empty if the project of the test class can't be retrieved.
+   */
+  static Optional<Set<String>> modules(Class<?> testClass) {
+    final Set<String> modules = new TreeSet<>();
+    if (Project.class.isAssignableFrom(testClass)) {
+      try {
+        modules.add(normalize(((Project) ReflectionSupport.newInstance(testClass)).getProject()));
+      } catch (Exception | LinkageError ex) {
+        log.warn("Unable to retrieve the project of {}, selecting it regardless of the changes",
+          testClass.getName(), ex);
+        return Optional.empty();
+      }
+    }
+    for (Field field : ReflectionSupport.findFields(testClass, f -> f.isAnnotationPresent(Gradle.class),
+      HierarchyTraversalMode.TOP_DOWN)) {
+      modules.add(PROJECTS + "gradle/" + String.join("/", field.getAnnotation(Gradle.class).project()));
+    }
+    return Optional.of(modules);
+  }
+
+  private static String normalize(String path) {
+    String normalized = Paths.get(path).normalize().toString().replace('\\', '/');
+    while (normalized.startsWith("../")) {
+      normalized = normalized.substring(3);
+    }
+    return normalized.endsWith("/") ? normalized.substring(0, normalized.length() - 1) : normalized;
+  }
+
+  private static List<String> changes() {
+    final String changes = System.getProperty(CHANGES_PROPERTY);
+    final String since = System.getProperty(CHANGES_SINCE_PROPERTY);
+    try {
+      if (changes != null) {
+        final Path file = Paths.get(changes);
+        return paths(Files.isRegularFile(file) ?
+          Files.readAllLines(file, StandardCharsets.UTF_8) : Arrays.asList(changes.split(",")));
+      } else if (since != null) {
+        return gitChanges(since);
+      }
+    } catch (IOException ex) {
+      log.warn("Unable to compute the changed paths, running every test class", ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+
+  private static List<String> gitChanges(String since) throws IOException, InterruptedException {
+    final CliResult mergeBase = CliUtils.runCommand(String.format("git -C .. merge-base %s HEAD", since));
+    if (mergeBase.getExitCode() != 0) {
+      throw new IOException("Unable to find the merge base of " + since + ": " + mergeBase.getOutput());
+    }
+    final CliResult diff = CliUtils.runCommand(String.format("git -C .. diff --name-only %s", mergeBase.getOutput().trim()));
+    if (diff.getExitCode() != 0) {
+      throw new IOException("Unable to list the changes since " + since + ": " + diff.getOutput());
+    }
+    return paths(Arrays.asList(diff.getOutput().split("\\R")));
+  }
+
+  private static List<String> paths(List<String> lines) {
+    final List<String> paths = new ArrayList<>();
+    for (String line : lines) {
+      final String path = line.trim().replace('\\', '/');
+      if (!path.isEmpty()) {
+        paths.add(path.startsWith("./") ? path.substring(2) : path);
+      }
+    }
+    return paths;
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.selection;
+
+import org.eclipse.jkube.integrationtests.parallel.SuitePlan;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits the selected test classes in <code>n</code> shards with balanced predicted durations
+ * (<code>-Dit.shard=i/n</code>, <code>i</code> being 1-based).
+ *
+ * <p> Chains of classes sharing a lock are never split, and are assigned longest first to the shard with the lowest
+ * predicted duration (the lowest index on ties). The assignment only depends on the discovered classes and the
+ * duration history, every worker computes the same shards.
+ */
+public final class Sharding {
+
+  public static final String SHARD_PROPERTY = "it.shard";
+
+  private final int index;
+  private final int count;
+  private long[] loads;
+
+  private Sharding(int index, int count) {
+    this.index = index;
+    this.count = count;
+    this.loads = new long[count];
+  }
+
+  /**
+   * Parses the <code>it.shard</code> system property, <code>null</code> if sharding is disabled.
+   */
+  static Sharding fromSystemProperties() {
+    final String shard = System.getProperty(SHARD_PROPERTY);
+    if (shard == null || shard.trim().isEmpty()) {
+      return null;
+    }
+    final String[] parts = shard.trim().split("/");
+    try {
+      final int index = Integer.parseInt(parts[0].trim());
+      final int count = Integer.parseInt(parts[1].trim());
+      if (parts.length == 2 && count > 0 && index >= 1 && index <= count) {
+        return new Sharding(index, count);
+      }
+    } catch (RuntimeException ex) {
+      // Reported below
+    }
+    throw new IllegalArgumentException(String.format("Invalid %s '%s', expected i/n with 1 <= i <= n", SHARD_PROPERTY, shard));
+  }
+
+  /**
+   * The classes assigned to this shard out of the provided ones.
+   */
+  Set<Class<?>> select(List<Class<?>> testClasses) {
+    loads = new long[count];
+    final Set<Class<?>> selected = new HashSet<>();
+    for (SuitePlan.Chain chain : SuitePlan.chains(testClasses)) {
+      int shard = 0;
+      for (int it = 1; it < count; it++) {
+        if (loads[it] < loads[shard]) {
+          shard = it;
+        }
+      }
+      loads[shard] += chain.getPredictedMillis();
+      if (shard == index - 1) {
+        chain.getEntries().forEach(e -> selected.add(e.getTestClass()));
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Fallback assignment for classes that weren't part of the discovered ones.
+   */
+  boolean contains(Class<?> testClass) {
+    return Math.floorMod(testClass.getName().hashCode(), count) == index - 1;
+  }
+
+  /**
+   * Predicted duration of every shard, as computed by the last selection.
+   */
+  long[] getPredictedLoads() {
+    return loads.clone();
+  }
+
+  @Override
+  public String toString() {
+    return index + "/" + count;
+  }
+}
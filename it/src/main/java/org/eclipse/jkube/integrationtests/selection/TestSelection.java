@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.selection;
+
+import org.eclipse.jkube.integrationtests.parallel.ParallelismAdvisor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+import static org.eclipse.jkube.integrationtests.selection.ImpactAnalysis.impactAnalysis;
+
+/**
+ * Selects the test classes to run out of the discovered ones.
+ *
+ * <p> The class orderer applies the selection to the discovered classes (so that the plan only accounts for the
+ * selected ones), the selection is enforced when each test class is about to run.
+ *
+ * <p> A class is selected when it's affected by the changes ({@link ImpactAnalysis}) and belongs to the current shard
+ * ({@link Sharding}), and, in smoke mode, fits in the time budget ({@link TimeBudget}).
+ */
+public final class TestSelection {
+
+  public static final String REPORT_SECTION = "Test selection";
+  private static final Logger log = LoggerFactory.getLogger(TestSelection.class);
+
+  private static Sharding sharding;
+  private static TimeBudget timeBudget;
+  private static Set<Class<?>> candidates;
+  private static Set<Class<?>> shard;
+  private static Set<Class<?>> budgeted;
+
+  private TestSelection() { }
+
+  /**
+   * Returns the selected classes out of the provided candidates (all the discovered test classes), in the same order.
+   */
+  public static synchronized List<Class<?>> select(List<Class<?>> candidates) {
+    impactAnalysis().register(candidates);
+    final List<Class<?>> affected = candidates.stream()
+      .filter(impactAnalysis()::isAffected)
+      .collect(Collectors.toList());
+    if (impactAnalysis().isActive()) {
+      log.info("{} of {} test classes affected by {} changed paths",
+        affected.size(), candidates.size(), impactAnalysis().getChanges().size());
+      addToReport(REPORT_SECTION, String.format("impact analysis: %s of %s classes affected by %s changed paths",
+        affected.size(), candidates.size(), impactAnalysis().getChanges().size()));
+    }
+    TestSelection.candidates = new HashSet<>(candidates);
+    final List<Class<?>> sharded = shard(affected);
+    if (timeBudget() == null) {
+      return sharded;
+    }
+    budgeted = timeBudget().select(sharded, ParallelismAdvisor.evaluate().getWidth());
+    final List<Class<?>> selected = sharded.stream().filter(budgeted::contains).collect(Collectors.toList());
+    log.info("Time budget {}: {} of {} test classes, predicted duration {}s, dropped coverage {}",
+      timeBudget(), selected.size(), sharded.size(), timeBudget().getPredictedMakespanMillis() / 1000,
+      timeBudget().getDropped());
+    addToReport(REPORT_SECTION, String.format("time budget %s: %s of %s classes, predicted duration %ss",
+      timeBudget(), selected.size(), sharded.size(), timeBudget().getPredictedMakespanMillis() / 1000));
+    addToReport(REPORT_SECTION, String.format("time budget %s: dropped coverage [%s]",
+      timeBudget(), String.join(", ", timeBudget().getDropped())));
+    return selected;
+  }
+
+  private static List<Class<?>> shard(List<Class<?>> affected) {
+    if (sharding() == null) {
+      return affected;
+    }
+    shard = sharding().select(affected);
+    final List<Class<?>> selected = affected.stream().filter(shard::contains).collect(Collectors.toList());
+    final String loads = Arrays.stream(sharding().getPredictedLoads())
+      .mapToObj(l -> (l / 1000) + "s").collect(Collectors.joining(", "));
+    log.info("Shard {}: {} of {} test classes, predicted shard durations [{}]",
+      sharding(), selected.size(), affected.size(), loads);
+    addToReport(REPORT_SECTION, String.format("shard %s: %s of %s classes, predicted shard durations [%s]",
+      sharding(), selected.size(), affected.size(), loads));
+    return selected;
+  }
+
+  /**
+   * The reason why the provided test class is not selected, empty if it's selected.
+   */
+  public static synchronized Optional<String> exclusion(Class<?> testClass) {
+    if (!impactAnalysis().isAffected(testClass)) {
+      return Optional.of("Not affected by the changed paths");
+    }
+    if (sharding() != null) {
+      final boolean inShard = shard != null && candidates.contains(testClass) ?
+        shard.contains(testClass) : sharding().contains(testClass);
+      if (!inShard) {
+        return Optional.of(String.format("Assigned to a different shard than %s", sharding()));
+      }
+    }
+    if (timeBudget() != null && budgeted != null && candidates.contains(testClass) && !budgeted.contains(testClass)) {
+      return Optional.of(String.format("Outside of the time budget (%s=%s)", TimeBudget.TIME_BUDGET_PROPERTY,
+        timeBudget()));
+    }
+    return Optional.empty();
+  }
+
+  private static Sharding sharding() {
+    if (sharding == null) {
+      sharding = Sharding.fromSystemProperties();
+    }
+    return sharding;
+  }
+
+  private static TimeBudget timeBudget() {
+    if (timeBudget == null) {
+      timeBudget = TimeBudget.fromSystemProperties();
+    }
+    return timeBudget;
+  }
+}
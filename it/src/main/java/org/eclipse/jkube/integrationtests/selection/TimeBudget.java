@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.selection;
+
+import org.eclipse.jkube.integrationtests.Deadline;
+import org.eclipse.jkube.integrationtests.parallel.SuitePlan;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Smoke mode, selects the test classes providing the most distinct {@link Coverage} within a time budget
+ * (<code>-Dit.timeBudget=10m</code>).
+ *
+ * <p> Classes are picked greedily by the number of features they add per predicted second, as long as the predicted
+ * makespan of the selection (on the advised number of workers) stays within the budget. The selection stops when no
+ * remaining class adds coverage or fits in the budget, the features of the candidates that are left uncovered are
+ * reported as dropped.
+ */
+public final class TimeBudget {
+
+  public static final String TIME_BUDGET_PROPERTY = "it.timeBudget";
+
+  private final String value;
+  private final Duration budget;
+  private long predictedMakespanMillis;
+  private Set<String> dropped;
+
+  private TimeBudget(String value, Duration budget) {
+    this.value = value;
+    this.budget = budget;
+    this.dropped = Collections.emptySet();
+  }
+
+  /**
+   * Parses the <code>it.timeBudget</code> system property, <code>null</code> if smoke mode is disabled.
+   */
+  static TimeBudget fromSystemProperties() {
+    final String timeBudget = System.getProperty(TIME_BUDGET_PROPERTY);
+    if (timeBudget == null || timeBudget.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      final Duration budget = Deadline.parseDuration(timeBudget);
+      if (!budget.isNegative() && !budget.isZero()) {
+        return new TimeBudget(timeBudget.trim(), budget);
+      }
+    } catch (RuntimeException ex) {
+      // Reported below
+    }
+    throw new IllegalArgumentException(String.format("Invalid %s '%s', expected a positive duration (e.g. 10m)",
+      TIME_BUDGET_PROPERTY, timeBudget));
+  }
+
+  /**
+   * The classes fitting in the budget out of the provided ones.
+   */
+  Set<Class<?>> select(List<Class<?>> testClasses, int width) {
+    final List<Class<?>> remaining = new ArrayList<>(testClasses);
+    remaining.sort(Comparator.comparing(Class::getName));
+    final List<Class<?>> selected = new ArrayList<>();
+    final Set<String> covered = new HashSet<>();
+    predictedMakespanMillis = 0L;
+    while (true) {
+      Class<?> best = null;
+      double bestScore = 0D;
+      long bestMakespan = 0L;
+      for (Class<?> candidate : remaining) {
+        final long added = Coverage.of(candidate).stream().filter(f -> !covered.contains(f)).count();
+        if (added == 0) {
+          continue;
+        }
+        final List<Class<?>> trial = new ArrayList<>(selected);
+        trial.add(candidate);
+        final long makespan = SuitePlan.predictMakespan(trial, width);
+        if (makespan > budget.toMillis()) {
+          continue;
+        }
+        final double score = added / (double) Math.max(1L, predictedMillis(candidate));
+        if (score > bestScore) {
+          best = candidate;
+          bestScore = score;
+          bestMakespan = makespan;
+        }
+      }
+      if (best == null) {
+        break;
+      }
+      selected.add(best);
+      remaining.remove(best);
+      covered.addAll(Coverage.of(best));
+      predictedMakespanMillis = bestMakespan;
+    }
+    dropped = new TreeSet<>();
+    remaining.forEach(c -> dropped.addAll(Coverage.of(c)));
+    dropped.removeAll(covered);
+    return new HashSet<>(selected);
+  }
+
+  private static long predictedMillis(Class<?> testClass) {
+    return SuitePlan.chains(Collections.singletonList(testClass)).get(0).getPredictedMillis();
+  }
+
+  /**
+   * Predicted makespan of the classes selected by the last selection.
+   */
+  long getPredictedMakespanMillis() {
+    return predictedMakespanMillis;
+  }
+
+  /**
+   * Features of the candidates not covered by the last selection.
+   */
+  Set<String> getDropped() {
+    return Collections.unmodifiableSet(dropped);
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+}
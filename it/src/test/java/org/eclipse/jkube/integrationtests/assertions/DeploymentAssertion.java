@@ -15,6 +15,7 @@ package org.eclipse.jkube.integrationtests.assertions;
 
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
+import org.eclipse.jkube.integrationtests.Deadline;
 import org.eclipse.jkube.integrationtests.JKubeCase;
 import org.hamcrest.Matcher;
 
@@ -44,10 +45,13 @@ public class DeploymentAssertion extends KubernetesClientAssertion<Deployment> {
   }
 
   public static DeploymentAssertion awaitDeployment(JKubeCase jKubeCase, String namespace) {
-    final Deployment deployment = jKubeCase.getKubernetesClient().apps().deployments()
-      .inNamespace(namespace)
-      .withName(jKubeCase.getApplication())
-      .waitUntilCondition(Objects::nonNull, DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
+    final Deployment deployment;
+    try (Deadline.Wait wait = Deadline.await("DeploymentAssertion.awaitDeployment", DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS)) {
+      deployment = jKubeCase.getKubernetesClient().apps().deployments()
+        .inNamespace(namespace)
+        .withName(jKubeCase.getApplication())
+        .waitUntilCondition(Objects::nonNull, wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
     assertThat(deployment, notNullValue());
     assertLabels(jKubeCase)
       .assertStandardLabels(deployment.getMetadata()::getLabels)
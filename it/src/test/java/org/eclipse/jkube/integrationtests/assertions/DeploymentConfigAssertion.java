@@ -15,6 +15,7 @@ package org.eclipse.jkube.integrationtests.assertions;
 
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.openshift.api.model.DeploymentConfig;
+import org.eclipse.jkube.integrationtests.Deadline;
 import org.eclipse.jkube.integrationtests.JKubeCase;
 import org.eclipse.jkube.integrationtests.OpenShiftCase;
 import org.hamcrest.Matcher;
@@ -39,10 +40,13 @@ public class DeploymentConfigAssertion  extends KubernetesClientAssertion<Deploy
   }
 
   public static <C extends JKubeCase & OpenShiftCase> DeploymentConfigAssertion awaitDeploymentConfig(C c, String namespace) {
-    final DeploymentConfig deploymentConfig = c.getOpenShiftClient().deploymentConfigs()
-      .inNamespace(namespace)
-      .withName(c.getApplication())
-      .waitUntilCondition(Objects::nonNull, DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
+    final DeploymentConfig deploymentConfig;
+    try (Deadline.Wait wait = Deadline.await("DeploymentConfigAssertion.awaitDeploymentConfig", DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS)) {
+      deploymentConfig = c.getOpenShiftClient().deploymentConfigs()
+        .inNamespace(namespace)
+        .withName(c.getApplication())
+        .waitUntilCondition(Objects::nonNull, wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
     assertThat(deploymentConfig, notNullValue());
     assertLabels(c)
       .assertStandardLabels(deploymentConfig.getMetadata()::getLabels)
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The fixtures package the same <code>my-chart</code> chart, with a template whose path exceeds the 100 characters
+ * of the tar name field, in the formats found in the wild (Helm packages charts as PAX tar.gz).
+ */
+class HelmChartArchiveTest {
+
+  private static final String LONG_TEMPLATE = "templates/a-very-long-directory-name-to-exceed-the-ustar-name-field/"
+    + "my-chart-deployment-with-a-long-name.yaml";
+
+  @TempDir
+  Path temp;
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(strings = {"chart-ustar.tar", "chart-gnu.tar", "chart-pax.tgz", "chart.zip"})
+  @DisplayName("inspect, should index the regular files relative to the chart root")
+  void inspectIndexesEntries(String fixture) throws Exception {
+    // When
+    final HelmChartArchive archive = HelmChartArchive.inspect(fixture(fixture));
+    // Then
+    assertThat(archive.getEntries().keySet(), contains(
+      "Chart.yaml", LONG_TEMPLATE, "templates/my-chart-service.yaml", "values.yaml"));
+    assertThat(archive.yaml("Chart.yaml"), hasEntry("name", "my-chart"));
+    assertThat(archive.yaml(LONG_TEMPLATE), hasEntry("kind", "Deployment"));
+    assertThat(archive.templates().keySet(), contains(LONG_TEMPLATE, "templates/my-chart-service.yaml"));
+  }
+
+  @Test
+  @DisplayName("inspect, with ustar archive, should join the prefix and the name fields")
+  void inspectUstarPrefix() throws Exception {
+    // Given
+    final byte[] tar = Files.readAllBytes(fixture("chart-ustar.tar").toPath());
+    assertThat("Prefix field of the long template header",
+      new String(tar, 7 * 512 + 345, "my-chart/templates".length(), StandardCharsets.US_ASCII),
+      equalTo("my-chart/templates"));
+    // When
+    final HelmChartArchive archive = HelmChartArchive.inspect(fixture("chart-ustar.tar"));
+    // Then
+    assertThat(archive.getEntries(), hasKey(LONG_TEMPLATE));
+  }
+
+  @Test
+  @DisplayName("inspect, with tar archive, should report entries as not compressed individually")
+  void inspectTarCompressedSize() throws Exception {
+    // When
+    final HelmChartArchive archive = HelmChartArchive.inspect(fixture("chart-pax.tgz"));
+    // Then
+    assertThat(archive.getEntries().get("values.yaml").getCompressedSize(), equalTo(-1L));
+    assertThat(archive.getEntries().get("values.yaml").getCompressionRatio(), equalTo(1D));
+  }
+
+  @Test
+  @DisplayName("inspect, with zip archive, should report the compressed size of the entries")
+  void inspectZipCompressedSize() throws Exception {
+    // When
+    final HelmChartArchive archive = HelmChartArchive.inspect(fixture("chart.zip"));
+    // Then
+    assertThat(archive.getEntries().get("Chart.yaml").getSize(), equalTo(45L));
+    assertThat(archive.getEntries().get("Chart.yaml").getCompressedSize(), greaterThan(0L));
+  }
+
+  @Test
+  @DisplayName("inspect, with data after the end of archive blocks, should stop at the first zero block")
+  void inspectStopsAtEndOfArchive() throws Exception {
+    // Given
+    final File archive = write("trailing.tar", concat(
+      Files.readAllBytes(fixture("chart-gnu.tar").toPath()), "not a tar header".getBytes(StandardCharsets.UTF_8)));
+    // When
+    final HelmChartArchive result = HelmChartArchive.inspect(archive);
+    // Then
+    assertThat(result.getEntries().size(), equalTo(4));
+  }
+
+  @Test
+  @DisplayName("inspect, with archive truncated within an entry, should throw exception")
+  void inspectTruncated() throws Exception {
+    // Given
+    // Directory header, Chart.yaml header and the first bytes of its content
+    final File archive = write("truncated.tar",
+      Arrays.copyOf(Files.readAllBytes(fixture("chart-ustar.tar").toPath()), 2 * 512 + 20));
+    // When
+    final EOFException result = assertThrows(EOFException.class, () -> HelmChartArchive.inspect(archive));
+    // Then
+    assertThat(result.getMessage(), equalTo("Truncated tar entry"));
+  }
+
+  @Test
+  @DisplayName("inspect, with base-256 entry size, should throw exception")
+  void inspectBase256Size() throws Exception {
+    // Given
+    final byte[] tar = Files.readAllBytes(fixture("chart-ustar.tar").toPath());
+    // Size field of the Chart.yaml header
+    tar[512 + 124] = (byte) 0x80;
+    final File archive = write("base-256.tar", tar);
+    // When
+    final IOException result = assertThrows(IOException.class, () -> HelmChartArchive.inspect(archive));
+    // Then
+    assertThat(result.getMessage(), containsString("base-256"));
+  }
+
+  private File fixture(String name) throws URISyntaxException {
+    return new File(HelmChartArchiveTest.class.getResource("/helm-archives/" + name).toURI());
+  }
+
+  private File write(String name, byte[] content) throws IOException {
+    return Files.write(temp.resolve(name), content).toFile();
+  }
+
+  private static byte[] concat(byte[] first, byte[] second) throws IOException {
+    final ByteArrayOutputStream result = new ByteArrayOutputStream();
+    result.write(first);
+    result.write(second);
+    return result.toByteArray();
+  }
+}
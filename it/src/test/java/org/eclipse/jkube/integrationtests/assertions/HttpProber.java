@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import io.fabric8.kubernetes.api.model.EndpointSubset;
+import io.fabric8.kubernetes.api.model.Endpoints;
+import io.fabric8.kubernetes.api.model.Service;
+import org.eclipse.jkube.integrationtests.Deadline;
+import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.ResourceTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.eclipse.jkube.integrationtests.SharedHttpClient.sharedHttpClient;
+import static org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension.addToReport;
+
+/**
+ * Probes an HTTP endpoint exposed by a Service until it responds.
+ *
+ * <p> Probing starts once the Service Endpoints have at least one ready address (there's no point in hitting the
+ * NodePort or Route before) and retries with an exponential backoff that starts at a few milliseconds, so an
+ * application that becomes ready right after a failed probe is detected almost immediately.
+ *
+ * <p> All the probes share the suite {@link org.eclipse.jkube.integrationtests.SharedHttpClient} (and its connections).
+ */
+class HttpProber {
+
+  private static final Logger log = LoggerFactory.getLogger(HttpProber.class);
+  private static final String REPORT_SECTION = "HTTP time to first successful response";
+  private static final long INITIAL_BACKOFF_MILLIS = 5L;
+  private static final long MAX_BACKOFF_MILLIS = 1000L;
+  private static final long MIN_REQUEST_TIMEOUT_MILLIS = 1000L;
+
+  private final JKubeCase jKubeCase;
+
+  HttpProber(JKubeCase jKubeCase) {
+    this.jKubeCase = jKubeCase;
+  }
+
+  HttpResponse<String> probe(Service service, String url, long timeoutSeconds) throws InterruptedException {
+    try (Deadline.Wait wait = Deadline.await("HttpProber.probe", timeoutSeconds, TimeUnit.SECONDS)) {
+      return probe(service, url, wait.getTimeoutMillis());
+    }
+  }
+
+  private HttpResponse<String> probe(Service service, String url, long timeoutMillis) throws InterruptedException {
+    final long start = System.nanoTime();
+    final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    awaitReadyEndpoints(service, deadline);
+    final long endpointsReady = System.nanoTime();
+    long backoff = INITIAL_BACKOFF_MILLIS;
+    int attempts = 0;
+    Exception lastError = null;
+    do {
+      attempts++;
+      try {
+        final HttpResponse<String> response = sharedHttpClient().get(url, Math.min(
+          sharedHttpClient().getTimeout().toMillis(), Math.max(MIN_REQUEST_TIMEOUT_MILLIS, remainingMillis(deadline))));
+        final long end = System.nanoTime();
+        addToReport(REPORT_SECTION, String.format("%s: %sms (endpoints ready after %sms, %s attempts) - %s",
+          jKubeCase.getApplication(), TimeUnit.NANOSECONDS.toMillis(end - start),
+          TimeUnit.NANOSECONDS.toMillis(endpointsReady - start), attempts, url));
+        return response;
+      } catch (InterruptedException ex) {
+        throw ex;
+      } catch (Exception ex) {
+        lastError = ex;
+        log.debug("Connection to {} failed (attempt {}), retrying in {}ms", url, attempts, backoff);
+      }
+      Thread.sleep(Math.min(backoff, remainingMillis(deadline)));
+      backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+    } while (System.nanoTime() < deadline);
+    log.warn("Connection to {} failed after {} attempts", url, attempts);
+    throw new AssertionError(String.format("No successful response from %s after %s attempts in %s ms",
+      url, attempts, timeoutMillis), lastError);
+  }
+
+  private void awaitReadyEndpoints(Service service, long deadline) throws InterruptedException {
+    final CompletableFuture<?> readyEndpoints = ResourceTracker.track(jKubeCase.getClass(), "informer",
+      "HttpProber.awaitReadyEndpoints",
+      jKubeCase.getKubernetesClient().endpoints()
+        .inNamespace(service.getMetadata().getNamespace())
+        .withField("metadata.name", service.getMetadata().getName())
+        .informOnCondition(el -> el.stream().anyMatch(HttpProber::hasReadyAddress)));
+    try {
+      readyEndpoints.get(remainingMillis(deadline), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      // Probing is attempted anyway, a failure will be reported with the HTTP error
+      log.warn("Service {} has no ready endpoints, probing anyway", service.getMetadata().getName());
+    } catch (InterruptedException ex) {
+      throw ex;
+    } catch (Exception ex) {
+      log.warn("Unable to inform on Service {} endpoints, probing anyway", service.getMetadata().getName(), ex);
+    } finally {
+      readyEndpoints.cancel(true);
+    }
+  }
+
+  private static boolean hasReadyAddress(Endpoints endpoints) {
+    return Optional.ofNullable(endpoints.getSubsets()).stream()
+      .flatMap(List::stream)
+      .map(EndpointSubset::getAddresses)
+      .anyMatch(addresses -> addresses != null && !addresses.isEmpty());
+  }
+
+  private static long remainingMillis(long deadline) {
+    return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+  }
+}
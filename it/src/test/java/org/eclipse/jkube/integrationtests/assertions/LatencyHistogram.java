@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of latencies in microseconds, values are recorded with a precision better than
+ * 1.6% (64 sub-buckets per power of two).
+ */
+class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 64;
+  private static final int SUB_BUCKET_BITS = 6;
+
+  private final AtomicLongArray counts;
+  private final AtomicLong total;
+  private final AtomicLong max;
+
+  LatencyHistogram() {
+    counts = new AtomicLongArray(SUB_BUCKETS * 64);
+    total = new AtomicLong();
+    max = new AtomicLong();
+  }
+
+  void record(long micros) {
+    final long value = Math.max(0L, micros);
+    counts.incrementAndGet(index(value));
+    total.incrementAndGet();
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Records the value along with the samples that would have been taken while the recorded request was blocking the
+   * sender, had the sender issued a request every expected interval (coordinated omission correction for closed
+   * models).
+   */
+  void record(long micros, long expectedIntervalMicros) {
+    record(micros);
+    if (expectedIntervalMicros <= 0) {
+      return;
+    }
+    for (long missing = micros - expectedIntervalMicros; missing >= expectedIntervalMicros; missing -= expectedIntervalMicros) {
+      record(missing);
+    }
+  }
+
+  long getCount() {
+    return total.get();
+  }
+
+  long getMax() {
+    return max.get();
+  }
+
+  /**
+   * The (highest equivalent) value at the provided percentile, in microseconds.
+   */
+  long percentile(double percentile) {
+    final long count = total.get();
+    if (count == 0) {
+      return 0L;
+    }
+    final long rank = Math.max(1L, (long) Math.ceil(percentile / 100D * count));
+    long seen = 0L;
+    for (int it = 0; it < counts.length(); it++) {
+      seen += counts.get(it);
+      if (seen >= rank) {
+        return Math.min(highestEquivalentValue(it), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  private static int index(long value) {
+    if (value < SUB_BUCKETS * 2) {
+      return (int) value;
+    }
+    final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+  }
+
+  private static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKETS * 2) {
+      return index;
+    }
+    final int shift = index / SUB_BUCKETS - 1;
+    final long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+import static org.eclipse.jkube.integrationtests.SharedHttpClient.sharedHttpClient;
+
+/**
+ * Generates a {@link LoadProfile} against a URL with non-blocking requests of the shared HTTP client.
+ *
+ * <p> In the open model latencies are measured from the time each request was scheduled (not sent), so that a
+ * stalled application or client accounts for the requests that should have been issued in the meantime. Requests that
+ * can't be issued because too many are already in flight, and requests still in flight once the load is drained,
+ * count as errors recorded at the client timeout.
+ */
+class LoadGenerator {
+
+  private static final long GRACE_MILLIS = 1000L;
+
+  private final String url;
+  private final LoadProfile profile;
+  private final LatencyHistogram histogram;
+  private final AtomicLong successes;
+  private final AtomicLong errors;
+  private final AtomicLong lastCompletion;
+  private final long timeoutMicros;
+  private long inFlight;
+  private long abandoned;
+  private boolean drained;
+
+  private LoadGenerator(String url, LoadProfile profile) {
+    this.url = url;
+    this.profile = profile;
+    histogram = new LatencyHistogram();
+    successes = new AtomicLong();
+    errors = new AtomicLong();
+    lastCompletion = new AtomicLong();
+    timeoutMicros = TimeUnit.MILLISECONDS.toMicros(sharedHttpClient().getTimeout().toMillis());
+  }
+
+  static Result run(String url, LoadProfile profile) throws InterruptedException {
+    final LoadGenerator generator = new LoadGenerator(url, profile);
+    final long start = System.nanoTime();
+    generator.lastCompletion.set(start);
+    if (profile.getModel() == LoadProfile.Model.OPEN) {
+      generator.open(start);
+    } else {
+      generator.closed(start);
+    }
+    return generator.new Result(generator.lastCompletion.get() - start);
+  }
+
+  private void open(long start) throws InterruptedException {
+    final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.getRate();
+    final long end = start + profile.getDuration().toNanos();
+    final long timeoutMillis = sharedHttpClient().getTimeout().toMillis();
+    final int maxInFlight = (int) Math.min(4096L,
+      Math.max(1L, profile.getRate() * Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis))));
+    final Semaphore permits = new Semaphore(maxInFlight);
+    for (long intended = start; intended < end; intended += intervalNanos) {
+      for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+        LockSupport.parkNanos(wait);
+        if (Thread.interrupted()) {
+          throw new InterruptedException("Load generation interrupted");
+        }
+      }
+      if (!permits.tryAcquire()) {
+        // Rejected, it would have waited at least as long as the requests in flight
+        histogram.record(timeoutMicros);
+        errors.incrementAndGet();
+        continue;
+      }
+      final long scheduled = intended;
+      send(scheduled, 0L, permits::release);
+    }
+    if (!permits.tryAcquire(maxInFlight, timeoutMillis + GRACE_MILLIS, TimeUnit.MILLISECONDS)) {
+      abandon();
+    }
+  }
+
+  private void closed(long start) throws InterruptedException {
+    final long end = start + profile.getDuration().toNanos();
+    final long expectedIntervalMicros = TimeUnit.NANOSECONDS.toMicros(profile.getExpectedInterval().toNanos());
+    final CountDownLatch users = new CountDownLatch(profile.getRate());
+    for (int it = 0; it < profile.getRate(); it++) {
+      sendUntil(end, expectedIntervalMicros, users);
+    }
+    if (!users.await(profile.getDuration().toMillis() + sharedHttpClient().getTimeout().toMillis() + GRACE_MILLIS,
+      TimeUnit.MILLISECONDS)) {
+      abandon();
+    }
+  }
+
+  private void sendUntil(long end, long expectedIntervalMicros, CountDownLatch users) {
+    send(System.nanoTime(), expectedIntervalMicros, () -> {
+      if (System.nanoTime() < end) {
+        // Rescheduled instead of recursing, responses completing synchronously would grow the stack
+        executorService().execute(() -> sendUntil(end, expectedIntervalMicros, users));
+      } else {
+        users.countDown();
+      }
+    });
+  }
+
+  private void send(long startNanos, long expectedIntervalMicros, Runnable then) {
+    synchronized (this) {
+      inFlight++;
+    }
+    sharedHttpClient().sendAsync(url).whenComplete((response, ex) -> {
+      record(startNanos, response, ex, expectedIntervalMicros);
+      then.run();
+    });
+  }
+
+  private synchronized void record(long startNanos, HttpResponse<String> response, Throwable ex,
+    long expectedIntervalMicros) {
+    if (drained) {
+      // Already recorded as abandoned
+      return;
+    }
+    inFlight--;
+    final long now = System.nanoTime();
+    histogram.record(TimeUnit.NANOSECONDS.toMicros(now - startNanos), expectedIntervalMicros);
+    if (ex != null || response.statusCode() >= 400) {
+      errors.incrementAndGet();
+    } else {
+      successes.incrementAndGet();
+    }
+    lastCompletion.accumulateAndGet(now, Math::max);
+  }
+
+  /**
+   * Records the requests still in flight once the drain timed out as errors at the client timeout, later completions
+   * are ignored.
+   */
+  private synchronized void abandon() {
+    drained = true;
+    abandoned = inFlight;
+    for (long it = 0; it < abandoned; it++) {
+      histogram.record(timeoutMicros);
+      errors.incrementAndGet();
+    }
+    lastCompletion.accumulateAndGet(System.nanoTime(), Math::max);
+  }
+
+  final class Result {
+
+    private final long elapsedNanos;
+
+    private Result(long elapsedNanos) {
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    long getRequests() {
+      return successes.get() + errors.get();
+    }
+
+    /**
+     * Requests still in flight when the load was drained.
+     */
+    long getAbandoned() {
+      synchronized (LoadGenerator.this) {
+        return abandoned;
+      }
+    }
+
+    double getErrorRate() {
+      return getRequests() == 0 ? 1D : (double) errors.get() / getRequests();
+    }
+
+    /**
+     * Successful responses per second.
+     */
+    double getThroughput() {
+      return elapsedNanos <= 0 ? 0D : successes.get() * 1e9D / elapsedNanos;
+    }
+
+    long percentileMicros(double percentile) {
+      return histogram.percentile(percentile);
+    }
+
+    long getMaxMicros() {
+      return histogram.getMax();
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import org.eclipse.jkube.integrationtests.Deadline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load to generate against a deployed application and the thresholds its results must meet.
+ *
+ * <p> The open model ({@link #constantRate(int, Duration)}) issues requests at a constant rate regardless of the
+ * responses, the closed model ({@link #closedModel(int, Duration)}) keeps a fixed number of users sending a request
+ * as soon as their previous one completes. Load is only generated with <code>-Dit.load=true</code>, the duration of
+ * every load can be overridden with <code>it.load.duration</code> (e.g. <code>-Dit.load.duration=30s</code>).
+ */
+public final class LoadProfile {
+
+  public static final String ENABLED_PROPERTY = "it.load";
+  public static final String DURATION_PROPERTY = "it.load.duration";
+
+  enum Model {
+    OPEN, CLOSED
+  }
+
+  private final Model model;
+  private final int rate;
+  private final Duration duration;
+  private Duration expectedInterval;
+  private Duration maxP99;
+  private double maxErrorRate;
+  private double minThroughput;
+
+  private LoadProfile(Model model, int rate, Duration duration) {
+    if (rate <= 0) {
+      throw new IllegalArgumentException("Load rate must be positive: " + rate);
+    }
+    this.model = model;
+    this.rate = rate;
+    this.duration = System.getProperty(DURATION_PROPERTY) == null ?
+      duration : Deadline.parseDuration(System.getProperty(DURATION_PROPERTY));
+    this.expectedInterval = Duration.ZERO;
+    this.maxErrorRate = 1D;
+    this.minThroughput = 0D;
+  }
+
+  public static boolean isEnabled() {
+    return Boolean.getBoolean(ENABLED_PROPERTY);
+  }
+
+  /**
+   * Open model, requests are issued every <code>1 / requestsPerSecond</code> seconds, latencies are measured from
+   * the time each request was meant to be issued.
+   */
+  public static LoadProfile constantRate(int requestsPerSecond, Duration duration) {
+    return new LoadProfile(Model.OPEN, requestsPerSecond, duration);
+  }
+
+  /**
+   * Closed model, the provided number of concurrent users send requests back to back.
+   */
+  public static LoadProfile closedModel(int users, Duration duration) {
+    return new LoadProfile(Model.CLOSED, users, duration);
+  }
+
+  /**
+   * Interval at which each user of a closed model is expected to send requests, latencies exceeding it are
+   * corrected for coordinated omission.
+   */
+  public LoadProfile withExpectedInterval(Duration expectedInterval) {
+    this.expectedInterval = expectedInterval;
+    return this;
+  }
+
+  public LoadProfile withMaxP99(Duration maxP99) {
+    this.maxP99 = maxP99;
+    return this;
+  }
+
+  public LoadProfile withMaxErrorRate(double maxErrorRate) {
+    this.maxErrorRate = maxErrorRate;
+    return this;
+  }
+
+  public LoadProfile withMinThroughput(double requestsPerSecond) {
+    this.minThroughput = requestsPerSecond;
+    return this;
+  }
+
+  Model getModel() {
+    return model;
+  }
+
+  int getRate() {
+    return rate;
+  }
+
+  Duration getDuration() {
+    return duration;
+  }
+
+  Duration getExpectedInterval() {
+    return expectedInterval;
+  }
+
+  List<String> violations(LoadGenerator.Result result) {
+    final List<String> violations = new ArrayList<>();
+    if (result.getAbandoned() > 0) {
+      violations.add(String.format("%s requests still in flight after the drain timeout", result.getAbandoned()));
+    }
+    if (maxP99 != null && result.percentileMicros(99) > maxP99.toNanos() / 1000L) {
+      violations.add(String.format("p99 %.1fms exceeds %sms", result.percentileMicros(99) / 1000D, maxP99.toMillis()));
+    }
+    if (result.getErrorRate() > maxErrorRate) {
+      violations.add(String.format("error rate %.2f%% exceeds %.2f%%", result.getErrorRate() * 100D, maxErrorRate * 100D));
+    }
+    if (result.getThroughput() < minThroughput) {
+      violations.add(String.format("throughput %.1f req/s is below %.1f req/s", result.getThroughput(), minThroughput));
+    }
+    return violations;
+  }
+
+  @Override
+  public String toString() {
+    return model == Model.OPEN ?
+      String.format("%s req/s for %ss", rate, duration.toMillis() / 1000D) :
+      String.format("%s users for %ss", rate, duration.toMillis() / 1000D);
+  }
+}
@@ -17,10 +17,11 @@ import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.PodResource;
 import io.fabric8.kubernetes.client.readiness.Readiness;
-import io.fabric8.openshift.api.model.DeploymentConfig;
-import io.fabric8.openshift.client.OpenShiftClient;
+import org.eclipse.jkube.integrationtests.Deadline;
 import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.ResourceTracker;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -44,7 +45,7 @@ public class PodAssertion extends KubernetesClientAssertion<Pod> {
   }
 
   public static PodAssertion awaitPod(JKubeCase jKubeCase) throws Exception {
-    final var pod = awaitPod(jKubeCase.getKubernetesClient(), jKubeCase.getApplication());
+    final var pod = awaitPod(jKubeCase, jKubeCase.getKubernetesClient(), jKubeCase.getApplication());
     assertThat(pod, notNullValue());
     assertThat(pod.getMetadata().getName(), startsWith(jKubeCase.getApplication()));
     assertLabels(jKubeCase).assertStandardLabels(pod.getMetadata()::getLabels);
@@ -53,13 +54,15 @@ public class PodAssertion extends KubernetesClientAssertion<Pod> {
 
   public PodAssertion logContains(CharSequence sequence, long timeoutSeconds) throws InterruptedException {
     final AtomicReference<String> lastLog = new AtomicReference<>("");
-    try {
-      await(() -> lastLog.updateAndGet(old -> podResource().getLog()))
-        .apply(l -> l.contains(sequence))
-        .get(timeoutSeconds, TimeUnit.SECONDS);
+    final CompletableFuture<String> logContains = await(() -> lastLog.updateAndGet(old -> podResource().getLog()))
+      .apply(l -> l.contains(sequence));
+    try (Deadline.Wait wait = Deadline.await("PodAssertion.logContains", timeoutSeconds, TimeUnit.SECONDS)) {
+      logContains.get(wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
       return this;
     } catch (ExecutionException | TimeoutException ignore) {
       // NO OP
+    } finally {
+      logContains.cancel(true);
     }
     throw new AssertionError(String.format("Error awaiting for log to contain:%n %s%nBut was:%n%s",
       sequence, lastLog.get()));
@@ -71,17 +74,15 @@ public class PodAssertion extends KubernetesClientAssertion<Pod> {
       .withName(getKubernetesResource().getMetadata().getName());
   }
 
-  private static Pod awaitPod(KubernetesClient kc, String appId) throws Exception {
+  private static Pod awaitPod(JKubeCase jKubeCase, KubernetesClient kc, String appId) throws Exception {
     try {
       // Wait for Pod to be created
-      kc.pods().withLabel("app", appId)
-        .informOnCondition(pl -> !pl.isEmpty())
-        .get(DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
+      awaitInformer(jKubeCase, "PodAssertion.awaitPod(created)", kc.pods().withLabel("app", appId)
+        .informOnCondition(pl -> !pl.isEmpty()));
       // Wait for Pod to be ready
-      kc.pods().withLabel("app", appId)
+      awaitInformer(jKubeCase, "PodAssertion.awaitPod(ready)", kc.pods().withLabel("app", appId)
         .informOnCondition(pl -> pl.stream()
-          .anyMatch(p -> p.getMetadata().getDeletionTimestamp() == null && Readiness.isPodReady(p)))
-        .get(DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
+          .anyMatch(p -> p.getMetadata().getDeletionTimestamp() == null && Readiness.isPodReady(p))));
     } catch (TimeoutException ex) {
       // NO OP
     }
@@ -89,20 +90,17 @@ public class PodAssertion extends KubernetesClientAssertion<Pod> {
     if (pod != null && Readiness.isPodReady(pod)) {
       return pod;
     }
-    // Get debug information
-    final String info;
-    if (pod != null) {
-      info = kc.getKubernetesSerialization().asYaml(pod);
-    } else if (kc.adapt(OpenShiftClient.class).supports(DeploymentConfig.class) &&
-      kc.adapt(OpenShiftClient.class).deploymentConfigs().withName(appId).get() != null) {
-      info = "DeploymentConfig status:\n" +
-        kc.getKubernetesSerialization().asYaml(kc.adapt(OpenShiftClient.class).deploymentConfigs().withName(appId).get().getStatus());
-    } else if (kc.apps().deployments().withName(appId).get() != null) {
-      info = "Deployment status:\n" +
-        kc.getKubernetesSerialization().asYaml(kc.apps().deployments().withName(appId).get().getStatus());
-    } else {
-      info = "No Pod found";
+    throw new AssertionError(String.format("Error awaiting Pod '%s' (%s)",
+      appId, pod == null ? "No Pod found" : "Pod not ready"));
+  }
+
+  private static void awaitInformer(JKubeCase jKubeCase, String name, CompletableFuture<?> informer) throws Exception {
+    ResourceTracker.track(jKubeCase.getClass(), "informer", name, informer);
+    try (Deadline.Wait wait = Deadline.await(name, DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS)) {
+      informer.get(wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+    } finally {
+      // Stops the informer if the condition wasn't met
+      informer.cancel(true);
     }
-    throw new AssertionError(String.format("Error awaiting Pod '%s'\n%s", appId, info));
   }
 }
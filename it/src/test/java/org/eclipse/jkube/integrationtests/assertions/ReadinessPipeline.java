@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.eclipse.jkube.integrationtests.Benchmarks;
+import org.eclipse.jkube.integrationtests.Deadline;
+import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.ResourceTracker;
+import org.eclipse.jkube.integrationtests.StageGraph;
+import org.hamcrest.Matcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import static org.eclipse.jkube.integrationtests.StageGraph.stageGraph;
+import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.awaitPod;
+import static org.eclipse.jkube.integrationtests.assertions.KubernetesClientAssertion.DEFAULT_AWAIT_TIME_SECONDS;
+import static org.eclipse.jkube.integrationtests.assertions.ServiceAssertion.awaitService;
+
+/**
+ * Verifies that an applied application is ready by overlapping the independent checks.
+ *
+ * <p> The Pod (and then its logs) and the Service (and then its NodePort responses) are awaited concurrently,
+ * so the verification costs as much as the slowest of both branches.
+ *
+ * <p> In benchmark mode ({@link Benchmarks}) the startup phases of the Pod and the first NodePort response are timed
+ * from the completion of the <code>apply</code> goal, and the Deployments of the application are then recreated to
+ * time the remaining runs.
+ */
+public class ReadinessPipeline {
+
+  private static final Logger log = LoggerFactory.getLogger(ReadinessPipeline.class);
+  private static final String POD = "pod";
+  private static final String LOG = "log";
+  private static final String SERVICE = "service";
+  private static final String RESPONSE = "response";
+
+  private final JKubeCase jKubeCase;
+  private final List<LogExpectation> logExpectations;
+  private final List<ResponseExpectation> responseExpectations;
+  private final List<LoadExpectation> loadExpectations;
+  private UnaryOperator<ServiceAssertion> serviceAssertions;
+
+  private ReadinessPipeline(JKubeCase jKubeCase) {
+    this.jKubeCase = jKubeCase;
+    this.logExpectations = new ArrayList<>();
+    this.responseExpectations = new ArrayList<>();
+    this.loadExpectations = new ArrayList<>();
+    this.serviceAssertions = UnaryOperator.identity();
+  }
+
+  public static ReadinessPipeline readiness(JKubeCase jKubeCase) {
+    return new ReadinessPipeline(jKubeCase);
+  }
+
+  public ReadinessPipeline logContains(CharSequence sequence, long timeoutSeconds) {
+    logExpectations.add(new LogExpectation(sequence, timeoutSeconds));
+    return this;
+  }
+
+  public ReadinessPipeline service(UnaryOperator<ServiceAssertion> serviceAssertions) {
+    this.serviceAssertions = serviceAssertions;
+    return this;
+  }
+
+  public ReadinessPipeline nodePortResponse(String name, Matcher<? super String> responseBodyMatcher, String... path) {
+    responseExpectations.add(new ResponseExpectation(name, responseBodyMatcher, path));
+    return this;
+  }
+
+  /**
+   * Generates the provided load once the NodePort responses are verified.
+   */
+  public ReadinessPipeline load(String name, LoadProfile profile, String... path) {
+    loadExpectations.add(new LoadExpectation(name, profile, path));
+    return this;
+  }
+
+  public Result await() throws Exception {
+    final StartupTimeline timeline = Benchmarks.isEnabled() ?
+      new StartupTimeline(jKubeCase, true, Benchmarks.appliedAt(jKubeCase.getClass(), System.nanoTime())) : null;
+    final StageGraph.Result graphResult;
+    try {
+      graphResult = execute(timeline);
+    } finally {
+      if (timeline != null) {
+        timeline.close();
+      }
+    }
+    if (timeline == null) {
+      return new Result(graphResult, null);
+    }
+    Benchmarks.record(benchmarkName(), timeline.toRun());
+    return new Result(graphResult, benchmark());
+  }
+
+  private StageGraph.Result execute(StartupTimeline timeline) throws Exception {
+    final String namespace = jKubeCase.getKubernetesClient().getNamespace();
+    final StageGraph graph = stageGraph(jKubeCase.getApplication() + " readiness")
+      .stage(POD, r -> awaitPod(jKubeCase))
+      .stage(LOG, r -> {
+        final PodAssertion podAssertion = r.get(POD, PodAssertion.class);
+        for (LogExpectation logExpectation : logExpectations) {
+          podAssertion.logContains(logExpectation.sequence, logExpectation.timeoutSeconds);
+        }
+        return podAssertion;
+      }, POD)
+      .stage(SERVICE, r -> serviceAssertions.apply(awaitService(jKubeCase, namespace)))
+      .stage(RESPONSE, r -> {
+        final ServiceAssertion serviceAssertion = r.get(SERVICE, ServiceAssertion.class);
+        for (ResponseExpectation responseExpectation : responseExpectations) {
+          serviceAssertion.assertNodePortResponse(
+            responseExpectation.name, responseExpectation.responseBodyMatcher, responseExpectation.path);
+          if (timeline != null) {
+            timeline.responded();
+          }
+        }
+        for (LoadExpectation loadExpectation : loadExpectations) {
+          serviceAssertion.assertLoad(loadExpectation.name, loadExpectation.profile, loadExpectation.path);
+        }
+        return serviceAssertion;
+      }, SERVICE);
+    return graph.execute();
+  }
+
+  /**
+   * Recreates the Deployments of the application for the remaining benchmark runs, timing each of them until the
+   * first NodePort response.
+   *
+   * @return the Pod of the last run, or null if no run took place.
+   */
+  private PodAssertion benchmark() throws Exception {
+    final KubernetesClient kc = jKubeCase.getKubernetesClient();
+    final List<Deployment> deployments = kc.apps().deployments().withLabel("app", jKubeCase.getApplication())
+      .list().getItems();
+    if (Benchmarks.getRuns() < 2 || responseExpectations.isEmpty() || deployments.isEmpty()) {
+      log.info("Benchmark of {} limited to the first run (no Deployment or NodePort response)", benchmarkName());
+      return null;
+    }
+    final ServiceAssertion serviceAssertion = awaitService(jKubeCase, kc.getNamespace());
+    final ResponseExpectation probe = responseExpectations.iterator().next();
+    for (int run = 1; run < Benchmarks.getRuns(); run++) {
+      deleteAndAwait(kc, deployments);
+      // The informer is synced before the Deployments are created, so that no phase is missed
+      try (StartupTimeline timeline = new StartupTimeline(jKubeCase, false, System.nanoTime())) {
+        timeline.applied();
+        deployments.forEach(d -> kc.apps().deployments().resource(new DeploymentBuilder(d)
+          .editMetadata()
+          .withResourceVersion(null)
+          .withUid(null)
+          .withCreationTimestamp(null)
+          .withGeneration(null)
+          .withManagedFields(new ArrayList<>())
+          .endMetadata()
+          .withStatus(null)
+          .build()).create());
+        serviceAssertion.assertNodePortResponse(probe.name, probe.responseBodyMatcher, probe.path);
+        timeline.responded();
+        Benchmarks.record(benchmarkName(), timeline.toRun());
+      }
+    }
+    return awaitPod(jKubeCase);
+  }
+
+  private void deleteAndAwait(KubernetesClient kc, List<Deployment> deployments) throws Exception {
+    try (Deadline.Wait wait = Deadline.await("ReadinessPipeline.benchmark(delete)", DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS)) {
+      for (Deployment deployment : deployments) {
+        kc.apps().deployments().withName(deployment.getMetadata().getName())
+          .withPropagationPolicy(DeletionPropagation.FOREGROUND).delete();
+      }
+      for (Deployment deployment : deployments) {
+        kc.apps().deployments().withName(deployment.getMetadata().getName())
+          .waitUntilCondition(Objects::isNull, wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+      }
+      final CompletableFuture<List<Pod>> podsDeleted = ResourceTracker.track(jKubeCase.getClass(), "informer",
+        "ReadinessPipeline.benchmark(delete)", kc.pods().withLabel("app", jKubeCase.getApplication())
+          .informOnCondition(List::isEmpty));
+      try {
+        podsDeleted.get(wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+      } finally {
+        podsDeleted.cancel(true);
+      }
+    }
+  }
+
+  private String benchmarkName() {
+    return String.format("%s (%s)", jKubeCase.getApplication(), jKubeCase.getClass().getSimpleName());
+  }
+
+  public static final class Result {
+
+    private final StageGraph.Result graphResult;
+    private final PodAssertion benchmarkPodAssertion;
+
+    private Result(StageGraph.Result graphResult, PodAssertion benchmarkPodAssertion) {
+      this.graphResult = graphResult;
+      this.benchmarkPodAssertion = benchmarkPodAssertion;
+    }
+
+    public Pod getPod() {
+      return getPodAssertion().getKubernetesResource();
+    }
+
+    public PodAssertion getPodAssertion() {
+      if (benchmarkPodAssertion != null) {
+        return benchmarkPodAssertion;
+      }
+      return graphResult.get(LOG, PodAssertion.class);
+    }
+
+    public ServiceAssertion getServiceAssertion() {
+      return graphResult.get(RESPONSE, ServiceAssertion.class);
+    }
+
+    public List<String> getCriticalPath() {
+      return graphResult.getCriticalPath();
+    }
+  }
+
+  private static final class LogExpectation {
+    private final CharSequence sequence;
+    private final long timeoutSeconds;
+
+    private LogExpectation(CharSequence sequence, long timeoutSeconds) {
+      this.sequence = sequence;
+      this.timeoutSeconds = timeoutSeconds;
+    }
+  }
+
+  private static final class ResponseExpectation {
+    private final String name;
+    private final Matcher<? super String> responseBodyMatcher;
+    private final String[] path;
+
+    private ResponseExpectation(String name, Matcher<? super String> responseBodyMatcher, String... path) {
+      this.name = name;
+      this.responseBodyMatcher = responseBodyMatcher;
+      this.path = path;
+    }
+  }
+
+  private static final class LoadExpectation {
+    private final String name;
+    private final LoadProfile profile;
+    private final String[] path;
+
+    private LoadExpectation(String name, LoadProfile profile, String... path) {
+      this.name = name;
+      this.profile = profile;
+      this.path = path;
+    }
+  }
+}
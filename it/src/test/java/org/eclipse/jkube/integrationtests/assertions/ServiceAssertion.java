@@ -17,7 +17,9 @@ import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.api.model.RouteBuilder;
+import org.eclipse.jkube.integrationtests.Deadline;
 import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension;
 import org.hamcrest.Matcher;
 
 import java.net.InetAddress;
@@ -40,6 +42,7 @@ import static org.hamcrest.Matchers.nullValue;
 public class ServiceAssertion extends KubernetesClientAssertion<Service> {
 
   private static final String OC_ROUTE_ANNOTATION_TIMEOUT = "haproxy.router.openshift.io/timeout";
+  private static final String LOAD_REPORT_SECTION = "Load (throughput, p50, p99, p99.9, error rate)";
   private ServiceAssertion(JKubeCase jKubeCase, Service service) {
     super(jKubeCase, service);
   }
@@ -55,10 +58,13 @@ public class ServiceAssertion extends KubernetesClientAssertion<Service> {
   }
 
   public static ServiceAssertion awaitService(JKubeCase jKubeCase, String namespace) {
-    final Service service = jKubeCase.getKubernetesClient().services()
-      .inNamespace(namespace)
-      .withName(jKubeCase.getApplication())
-      .waitUntilCondition(Objects::nonNull, DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
+    final Service service;
+    try (Deadline.Wait wait = Deadline.await("ServiceAssertion.awaitService", DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS)) {
+      service = jKubeCase.getKubernetesClient().services()
+        .inNamespace(namespace)
+        .withName(jKubeCase.getApplication())
+        .waitUntilCondition(Objects::nonNull, wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
     assertThat(service, notNullValue());
     assertLabels(jKubeCase)
       .assertStandardLabels(service.getMetadata()::getLabels)
@@ -93,6 +99,41 @@ public class ServiceAssertion extends KubernetesClientAssertion<Service> {
   public ServiceAssertion assertNodePortResponse(String name, Matcher<? super String> responseBodyMatcher, String... path)
     throws Exception {
 
+    final var response = new HttpProber(getJKubeCase()).probe(getKubernetesResource(), nodePortUrl(name, path),
+      DEFAULT_AWAIT_TIME_SECONDS);
+    assertThat(response.body(), notNullValue());
+    // replacing character `–` with `-` to avoid issue described in
+    // https://github.com/jkubeio/jkube-integration-tests/issues/183
+    assertThat(response.body().replace("–", "-"), responseBodyMatcher);
+    return this;
+  }
+
+  /**
+   * Generates the provided load against the NodePort (or Route) once it responds, and fails if any of the profile
+   * thresholds isn't met. Throughput, latency percentiles and error rate are added to the test report. No load is
+   * generated unless {@link LoadProfile#isEnabled() enabled}.
+   */
+  public ServiceAssertion assertLoad(String name, LoadProfile profile, String... path) throws Exception {
+    if (!LoadProfile.isEnabled()) {
+      ReportExtension.addToReport(LOAD_REPORT_SECTION, String.format("%s (%s): skipped, enable with -D%s=true",
+        getJKubeCase().getApplication(), profile, LoadProfile.ENABLED_PROPERTY));
+      return this;
+    }
+    final String url = nodePortUrl(name, path);
+    new HttpProber(getJKubeCase()).probe(getKubernetesResource(), url, DEFAULT_AWAIT_TIME_SECONDS);
+    final LoadGenerator.Result result = LoadGenerator.run(url, profile);
+    ReportExtension.addToReport(LOAD_REPORT_SECTION, String.format("%s (%s): %.1f req/s, %.1fms, %.1fms, %.1fms, %.2f%%",
+      getJKubeCase().getApplication(), profile, result.getThroughput(), result.percentileMicros(50) / 1000D,
+      result.percentileMicros(99) / 1000D, result.percentileMicros(99.9) / 1000D, result.getErrorRate() * 100D));
+    final List<String> violations = profile.violations(result);
+    if (!violations.isEmpty()) {
+      throw new AssertionError(String.format("Load (%s) against %s didn't meet its thresholds: %s",
+        profile, url, String.join(", ", violations)));
+    }
+    return this;
+  }
+
+  private String nodePortUrl(String name, String... path) throws UnknownHostException {
     final ServicePort port = getKubernetesResource().getSpec().getPorts().stream()
       .filter(sp -> sp.getName().equals(name))
       .filter(sp -> sp.getNodePort() != null)
@@ -105,24 +146,21 @@ public class ServiceAssertion extends KubernetesClientAssertion<Service> {
     } else {
       host = String.format("%s:%s", clusterHost, port.getNodePort());
     }
-    final var response = getWithRetry(String.format("http://%s/%s", host, String.join("/", path)))
-      .get(KubernetesClientAssertion.DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
-    assertThat(response.body(), notNullValue());
-    // replacing character `–` with `-` to avoid issue described in
-    // https://github.com/jkubeio/jkube-integration-tests/issues/183
-    assertThat(response.body().replace("–", "-"), responseBodyMatcher);
-    return this;
+    return String.format("http://%s/%s", host, String.join("/", path));
   }
 
   private String openShiftRouteHost() {
     openShiftRouteIncreaseTimeout();
-    final Route route = getOpenShiftClient().routes()
-      .inNamespace(getKubernetesResource().getMetadata().getNamespace())
-      .withName(getKubernetesResource().getMetadata().getName())
-      .waitUntilCondition(r -> Optional.ofNullable(r)
-          .filter(fr -> fr.getMetadata().getAnnotations().containsKey(OC_ROUTE_ANNOTATION_TIMEOUT))
-          .isPresent(),
-        DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
+    final Route route;
+    try (Deadline.Wait wait = Deadline.await("ServiceAssertion.openShiftRouteHost", DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS)) {
+      route = getOpenShiftClient().routes()
+        .inNamespace(getKubernetesResource().getMetadata().getNamespace())
+        .withName(getKubernetesResource().getMetadata().getName())
+        .waitUntilCondition(r -> Optional.ofNullable(r)
+            .filter(fr -> fr.getMetadata().getAnnotations().containsKey(OC_ROUTE_ANNOTATION_TIMEOUT))
+            .isPresent(),
+          wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
     assertThat(route, notNullValue());
     return route.getSpec().getHost();
   }
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.readiness.Readiness;
+import org.eclipse.jkube.integrationtests.Benchmarks;
+import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.ResourceTracker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches the Pods of an application to record when each startup phase is first observed, relative to the moment
+ * the application was applied.
+ *
+ * <p> The Pod informer is synced when the timeline is created, so a timeline created before the application is
+ * applied (and marked with {@link #applied()}) observes every phase as it happens.
+ */
+class StartupTimeline implements AutoCloseable {
+
+  private final boolean cold;
+  private volatile long appliedNanos;
+  private final AtomicLong scheduled;
+  private final AtomicLong started;
+  private final AtomicLong ready;
+  private final AtomicLong firstResponse;
+  private final SharedIndexInformer<Pod> informer;
+
+  /**
+   * @param cold whether this is the first deployment of the application.
+   * @param appliedNanos the {@link System#nanoTime()} at which the application was applied.
+   */
+  StartupTimeline(JKubeCase jKubeCase, boolean cold, long appliedNanos) {
+    this.cold = cold;
+    this.appliedNanos = appliedNanos;
+    scheduled = new AtomicLong(-1L);
+    started = new AtomicLong(-1L);
+    ready = new AtomicLong(-1L);
+    firstResponse = new AtomicLong(-1L);
+    informer = jKubeCase.getKubernetesClient().pods().withLabel("app", jKubeCase.getApplication())
+      .inform(new ResourceEventHandler<>() {
+        @Override
+        public void onAdd(Pod pod) {
+          observe(pod);
+        }
+
+        @Override
+        public void onUpdate(Pod oldPod, Pod newPod) {
+          observe(newPod);
+        }
+
+        @Override
+        public void onDelete(Pod pod, boolean deletedFinalStateUnknown) {
+          // NO OP
+        }
+      });
+    ResourceTracker.track(jKubeCase.getClass(), "informer", "StartupTimeline " + jKubeCase.getApplication(),
+      informer::isRunning);
+  }
+
+  /**
+   * Marks the moment the application is applied, right before it's created.
+   */
+  void applied() {
+    appliedNanos = System.nanoTime();
+  }
+
+  void responded() {
+    mark(firstResponse);
+  }
+
+  Benchmarks.Run toRun() {
+    return new Benchmarks.Run(cold, scheduled.get(), started.get(), ready.get(), firstResponse.get());
+  }
+
+  @Override
+  public void close() {
+    informer.stop();
+  }
+
+  private void observe(Pod pod) {
+    if (pod.getMetadata().getDeletionTimestamp() != null || pod.getStatus() == null) {
+      return;
+    }
+    if (pod.getStatus().getConditions() != null && pod.getStatus().getConditions().stream()
+      .anyMatch(c -> "PodScheduled".equals(c.getType()) && "True".equals(c.getStatus()))) {
+      mark(scheduled);
+    }
+    if (pod.getStatus().getContainerStatuses() != null && pod.getStatus().getContainerStatuses().stream()
+      .anyMatch(cs -> cs.getState() != null && cs.getState().getRunning() != null)) {
+      mark(started);
+    }
+    if (Readiness.isPodReady(pod)) {
+      mark(ready);
+    }
+  }
+
+  private void mark(AtomicLong phase) {
+    phase.compareAndSet(-1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - appliedNanos));
+  }
+}
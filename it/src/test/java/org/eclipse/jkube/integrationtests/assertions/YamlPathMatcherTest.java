@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yamlPath;
+import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yamlPaths;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The fixture is a multi-document file with a Service, a Deployment and a List.
+ */
+class YamlPathMatcherTest {
+
+  @TempDir
+  Path temp;
+
+  @Test
+  @DisplayName("yamlPath, with field path, should match a value in any document")
+  void fieldInAnyDocument() throws Exception {
+    assertThat(fixture(), yamlPath("kind", equalTo("Service")));
+    assertThat(fixture(), yamlPath("kind", equalTo("Deployment")));
+    assertThat(fixture(), yamlPath("metadata.name", equalTo("my-deployment")));
+  }
+
+  @Test
+  @DisplayName("yamlPath, with path ending in a map, should match the whole subtree")
+  void subtree() throws Exception {
+    assertThat(fixture(), yamlPath("metadata.labels", hasEntry("app", "my-app")));
+  }
+
+  @Test
+  @DisplayName("yamlPath, with sequence index, should match the selected element only")
+  void sequenceIndex() throws Exception {
+    assertThat(fixture(), yamlPath("spec.template.spec.containers[1].image", equalTo("my-app:latest")));
+    assertThat(fixture(), not(yamlPath("spec.template.spec.containers[0].image", equalTo("my-app:latest"))));
+    assertThat(fixture(), yamlPath("items[1].metadata.name", equalTo("second")));
+  }
+
+  @Test
+  @DisplayName("yamlPath, with every element selector, should match any element")
+  void everyElement() throws Exception {
+    assertThat(fixture(), yamlPath("spec.template.spec.containers[].name", equalTo("app")));
+    assertThat(fixture(), yamlPath("spec.template.spec.containers[].ports[0].containerPort", equalTo(8080)));
+    assertThat(fixture(), yamlPath("items[].metadata.name", equalTo("first")));
+  }
+
+  @Test
+  @DisplayName("yamlPath, with missing path, should describe the path as not found")
+  void notFound() throws Exception {
+    // Given
+    final Matcher<File> matcher = yamlPath("spec.replicas", equalTo(1));
+    final StringDescription description = new StringDescription();
+    // When
+    matcher.describeMismatch(fixture(), description);
+    // Then
+    assertThat(matcher.matches(fixture()), equalTo(false));
+    assertThat(description.toString(), containsString("path \"spec.replicas\" not found"));
+  }
+
+  @Test
+  @DisplayName("yamlPath, with non-matching values, should describe the values of every document")
+  void nonMatchingValues() throws Exception {
+    // Given
+    final Matcher<File> matcher = yamlPath("metadata.name", equalTo("other"));
+    final StringDescription description = new StringDescription();
+    // When
+    matcher.describeMismatch(fixture(), description);
+    // Then
+    assertThat(description.toString(),
+      containsString("path \"metadata.name\" had values [\"my-service\", \"my-deployment\"]"));
+  }
+
+  @Test
+  @DisplayName("yamlPaths, should match all the paths in a single pass, and describe the failing ones only")
+  void allPaths() throws Exception {
+    // Given
+    final Matcher<File> failing = yamlPaths(
+      yamlPath("kind", equalTo("List")), yamlPath("spec.ports[].port", equalTo(443)));
+    final StringDescription description = new StringDescription();
+    // When
+    failing.describeMismatch(fixture(), description);
+    // Then
+    assertThat(fixture(), yamlPaths(
+      yamlPath("metadata.labels.app", equalTo("my-app")),
+      yamlPath("spec.ports[0].targetPort", equalTo(8080)),
+      yamlPath("items[0].kind", equalTo("ConfigMap"))));
+    assertThat(failing.matches(fixture()), equalTo(false));
+    assertThat(description.toString(), allOf(
+      containsString("path \"spec.ports[].port\" had values [<80>]"), not(containsString("\"kind\""))));
+  }
+
+  @Test
+  @DisplayName("yamlPath, once matched, should stop reading the file")
+  void stopsOnceMatched() throws Exception {
+    // Given
+    final File yaml = Files.write(temp.resolve("broken.yml"), String.join("\n",
+      "kind: Service",
+      "---",
+      "kind: Deployment",
+      "---",
+      "broken: yaml: document"
+    ).getBytes(StandardCharsets.UTF_8)).toFile();
+    // Then
+    assertThat(yaml, yamlPath("kind", equalTo("Service")));
+    assertThat(yaml, not(yamlPath("kind", equalTo("List"))));
+  }
+
+  @Test
+  @DisplayName("yamlPath, with missing file, should describe the file as not loaded")
+  void missingFile() {
+    // Given
+    final File missing = temp.resolve("missing.yml").toFile();
+    final Matcher<File> matcher = yamlPath("kind", equalTo("Service"));
+    final StringDescription description = new StringDescription();
+    // When
+    matcher.describeMismatch(missing, description);
+    // Then
+    assertThat(matcher.matches(missing), equalTo(false));
+    assertThat(description.toString(), containsString("can't be loaded"));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(strings = {"", "metadata.labels[", "spec.containers[0", "spec.containers[first]"})
+  @DisplayName("yamlPath, with invalid path, should throw exception")
+  void invalidPath(String path) {
+    assertThrows(IllegalArgumentException.class, () -> yamlPath(path, equalTo("value")));
+  }
+
+  private static File fixture() throws URISyntaxException {
+    return new File(YamlPathMatcherTest.class.getResource("/yaml-path/kubernetes.yml").toURI());
+  }
+}
@@ -19,28 +19,30 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.eclipse.jkube.integrationtests.maven.MavenCase;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.MethodOrderer;
-import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Tag;
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.api.TestFactory;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Stream;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
+import static org.eclipse.jkube.integrationtests.Scenario.scenario;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.DeploymentAssertion.awaitDeployment;
 import static org.eclipse.jkube.integrationtests.assertions.DockerAssertion.assertImageWasRecentlyBuilt;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
 import static org.eclipse.jkube.integrationtests.assertions.JKubeAssertions.assertJKube;
 import static org.eclipse.jkube.integrationtests.assertions.KubernetesListAssertion.assertListResource;
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.awaitPod;
-import static org.eclipse.jkube.integrationtests.assertions.ServiceAssertion.awaitService;
+import static org.eclipse.jkube.integrationtests.assertions.LoadProfile.constantRate;
+import static org.eclipse.jkube.integrationtests.assertions.ReadinessPipeline.readiness;
 import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yaml;
+import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yamlPath;
+import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yamlPaths;
 import static org.eclipse.jkube.integrationtests.docker.DockerUtils.listImageFiles;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
@@ -56,10 +58,8 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 @Tag(KUBERNETES)
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @KubernetesTest(createEphemeralNamespace = false)
 class SimpleK8sITCase implements JKubeCase, MavenCase {
 
@@ -82,10 +82,19 @@ class SimpleK8sITCase implements JKubeCase, MavenCase {
     return PROJECT_SIMPLE;
   }
 
-  @Test
-  @Order(1)
-  @DisplayName("k8s:build, should create image")
-  void k8sBuild() throws Exception {
+  @TestFactory
+  @ClusterAdmission
+  @DisplayName("k8s:build and k8s:resource, then k8s:apply and k8s:undeploy")
+  Stream<DynamicTest> goals() {
+    return scenario(getApplication())
+      .goal("k8s:build", "should create image", this::k8sBuild)
+      .goal("k8s:resource", "should create manifests", this::k8sResource)
+      .goal("k8s:apply", "should deploy pod and service", this::k8sApply, "k8s:build", "k8s:resource")
+      .goal("k8s:undeploy", "should delete all applied resources", this::k8sUndeploy, "k8s:apply")
+      .dynamicTests();
+  }
+
+  private void k8sBuild() throws Exception {
     // When
     final InvocationResult invocationResult = maven("k8s:build");
     // Then
@@ -101,12 +110,8 @@ class SimpleK8sITCase implements JKubeCase, MavenCase {
     assertThat(imageFiles, hasItem("/deployments/app.jar"));
   }
 
-
-  @Test
-  @Order(1)
-  @DisplayName("k8s:resource, should create manifests")
   @SuppressWarnings("unchecked")
-  void k8sResource() throws Exception {
+  private void k8sResource() throws Exception {
     // When
     final InvocationResult invocationResult = maven("k8s:resource");
     // Then
@@ -115,6 +120,10 @@ class SimpleK8sITCase implements JKubeCase, MavenCase {
       String.format("../%s/target/classes/META-INF", getProject()));
     assertThat(metaInfDirectory.exists(), equalTo(true));
     assertListResource(new File(metaInfDirectory, "jkube/kubernetes.yml"));
+    assertThat(new File(metaInfDirectory, "jkube/kubernetes.yml"), yamlPaths(
+      yamlPath("items[].spec.type", equalTo("NodePort")),
+      yamlPath("items[].spec.template.spec.containers[].ports[].containerPort", equalTo(8080))
+    ));
     assertThat(new File(metaInfDirectory, "jkube/kubernetes/dockerfile-simple-deployment.yml"), yaml(allOf(
       not(anEmptyMap()),
       hasEntry(is("spec"), hasEntry(is("template"), hasEntry(is("spec"), hasEntry(is("containers"),
@@ -127,12 +136,8 @@ class SimpleK8sITCase implements JKubeCase, MavenCase {
     )));
   }
 
-  @Test
-  @Order(2)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
-  @DisplayName("k8s:apply, should deploy pod and service")
   @SuppressWarnings("unchecked")
-  void k8sApply() throws Exception {
+  private void k8sApply() throws Exception {
     // When
     final InvocationResult invocationResult = maven("k8s:apply");
     // Then
@@ -152,10 +157,7 @@ class SimpleK8sITCase implements JKubeCase, MavenCase {
       )));
   }
 
-  @Test
-  @Order(3)
-  @DisplayName("k8s:undeploy, should delete all applied resources")
-  void k8sUndeploy() throws Exception {
+  private void k8sUndeploy() throws Exception {
     // When
     final InvocationResult invocationResult = maven("k8s:undeploy");
     // Then
@@ -166,17 +168,18 @@ class SimpleK8sITCase implements JKubeCase, MavenCase {
   }
 
   final Pod assertThatShouldApplyResources() throws Exception {
-    final Pod pod = awaitPod(this)
+    return readiness(this)
       .logContains("Started Application in", 40)
-      .getKubernetesResource();
-    awaitService(this, pod.getMetadata().getNamespace())
-      .assertIsNodePort()
-      .assertPorts(hasSize(1))
-      .assertPort("http", 8080, true)
-      .assertNodePortResponse("http", equalTo("Hello world!"))
-      .assertNodePortResponse("http",
-        containsString("This is a dummy file which should be copied inside Dockerfile"), "static-file");
-    return pod;
+      .service(s -> s
+        .assertIsNodePort()
+        .assertPorts(hasSize(1))
+        .assertPort("http", 8080, true))
+      .nodePortResponse("http", equalTo("Hello world!"))
+      .nodePortResponse("http",
+        containsString("This is a dummy file which should be copied inside Dockerfile"), "static-file")
+      .load("http", constantRate(20, Duration.ofSeconds(5)).withMaxErrorRate(0.01))
+      .await()
+      .getPod();
   }
 
 }
@@ -17,8 +17,10 @@ import io.fabric8.junit.jupiter.api.KubernetesTest;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.assertions.HelmChartArchive;
 import org.eclipse.jkube.integrationtests.gradle.JKubeGradleRunner;
 import org.eclipse.jkube.integrationtests.jupiter.api.Application;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.eclipse.jkube.integrationtests.jupiter.api.Gradle;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
@@ -26,9 +28,7 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.DeploymentAssertion.awaitDeployment;
 import static org.eclipse.jkube.integrationtests.assertions.DockerAssertion.assertImageWasRecentlyBuilt;
@@ -50,7 +50,6 @@ import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.stringContainsInOrder;
 import static org.hamcrest.io.FileMatchers.anExistingDirectory;
 import static org.hamcrest.io.FileMatchers.anExistingFile;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 @Tag(KUBERNETES)
 @Application("dsl")
@@ -98,13 +97,17 @@ class DslK8sGradleITCase implements JKubeCase {
   @Test
   @Order(2)
   @DisplayName("k8sHelm, should create Helm charts")
-  void k8sHelm() {
+  void k8sHelm() throws Exception {
     // When
     gradle.tasks("k8sHelm").build();
     // Then
     final var helmDirectory = gradle.getModulePath().resolve("build").resolve("jkube")
       .resolve("helm").resolve(getApplication()).resolve("kubernetes");
     assertThat(helmDirectory.resolve(getApplication() + "-0.0.0-SNAPSHOT.tar.gz").toFile(), anExistingFile());
+    final HelmChartArchive archive = HelmChartArchive.inspect(
+      helmDirectory.resolve(getApplication() + "-0.0.0-SNAPSHOT.tar.gz").toFile());
+    archive.assertMatchesDirectory(helmDirectory.toFile());
+    assertThat(archive.yaml("Chart.yaml"), hasEntry("name", getApplication()));
     assertThat(helmDirectory.resolve("Chart.yaml").toFile(), yaml(allOf(
       aMapWithSize(3),
       hasEntry("apiVersion", "v1"),
@@ -120,7 +123,7 @@ class DslK8sGradleITCase implements JKubeCase {
 
   @Test
   @Order(2)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("k8sApply, should deploy pod and service")
   @SuppressWarnings("unchecked")
   void k8sApply() throws Exception {
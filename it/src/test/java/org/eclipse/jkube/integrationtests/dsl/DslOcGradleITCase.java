@@ -21,6 +21,7 @@ import org.eclipse.jkube.integrationtests.JKubeCase;
 import org.eclipse.jkube.integrationtests.OpenShiftCase;
 import org.eclipse.jkube.integrationtests.gradle.JKubeGradleRunner;
 import org.eclipse.jkube.integrationtests.jupiter.api.Application;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.eclipse.jkube.integrationtests.jupiter.api.Gradle;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
@@ -28,9 +29,7 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT;
 import static org.eclipse.jkube.integrationtests.assertions.DeploymentConfigAssertion.awaitDeploymentConfig;
 import static org.eclipse.jkube.integrationtests.assertions.JKubeAssertions.assertJKube;
@@ -53,7 +52,6 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.stringContainsInOrder;
 import static org.hamcrest.io.FileMatchers.anExistingDirectory;
 import static org.hamcrest.io.FileMatchers.anExistingFile;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 @Tag(OPEN_SHIFT)
 @Application("dsl")
@@ -92,7 +90,7 @@ class DslOcGradleITCase implements JKubeCase, OpenShiftCase {
 
   @Test
   @Order(1)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("ocBuild, should create image")
   void ocBuild() {
     // When
@@ -131,7 +129,7 @@ class DslOcGradleITCase implements JKubeCase, OpenShiftCase {
 
   @Test
   @Order(2)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("ocApply, should deploy pod and service")
   @SuppressWarnings("unchecked")
   void ocApply() throws Exception {
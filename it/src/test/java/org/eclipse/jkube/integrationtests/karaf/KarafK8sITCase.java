@@ -16,6 +16,7 @@ package org.eclipse.jkube.integrationtests.karaf;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import org.apache.maven.shared.invoker.InvocationResult;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -23,12 +24,9 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.parallel.ResourceAccessMode;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.io.File;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.DeploymentAssertion.assertDeploymentExists;
 import static org.eclipse.jkube.integrationtests.assertions.DeploymentAssertion.awaitDeployment;
@@ -79,7 +77,7 @@ class KarafK8sITCase extends Karaf {
 
   @Test
   @Order(2)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = ResourceAccessMode.READ_WRITE)
+  @ClusterAdmission
   @DisplayName("k8s:apply, should apply manifests on k8s cluster")
   void K8sApply() throws Exception {
     //When
@@ -17,7 +17,11 @@ import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.apache.maven.shared.invoker.MavenInvocationException;
 import org.apache.maven.shared.invoker.PrintStreamHandler;
+import org.eclipse.jkube.integrationtests.Benchmarks;
+import org.eclipse.jkube.integrationtests.Deadline;
+import org.eclipse.jkube.integrationtests.NamespacePool;
 import org.eclipse.jkube.integrationtests.Project;
+import org.eclipse.jkube.integrationtests.ResourceTracker;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -34,6 +38,9 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
 
@@ -90,8 +97,17 @@ public interface MavenCase extends Project {
   default MavenInvocationResult maven(
     String goal, Properties properties, OutputStream out, MavenUtils.InvocationRequestCustomizer chainedCustomizer)
     throws IOException, InterruptedException, MavenInvocationException {
-    try {
-      return mavenAsync(goal, properties, out, chainedCustomizer).get();
+    CompletableFuture<MavenInvocationResult> execution = null;
+    try (Deadline.Wait wait = Deadline.await("MavenCase.maven(" + goal + ")", Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+      execution = mavenAsync(goal, properties, out, chainedCustomizer);
+      final MavenInvocationResult result = execution.get(wait.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+      if (goal.endsWith(":apply") && Benchmarks.isEnabled()) {
+        Benchmarks.applied(getClass());
+      }
+      return result;
+    } catch (TimeoutException e) {
+      execution.cancel(true);
+      throw new AssertionError(String.format("Deadline budget exhausted while running '%s'", goal), e);
     } catch (ExecutionException e) {
       if (e.getCause() instanceof MavenInvocationException) {
         throw (MavenInvocationException) e.getCause();
@@ -102,10 +118,25 @@ public interface MavenCase extends Project {
     }
   }
 
+  /**
+   * Targets the namespace leased to the test class (if any) by JKube goals.
+   */
+  private Properties withPooledNamespace(Properties properties) {
+    final Optional<String> namespace = NamespacePool.namespaceOf(getClass());
+    if (namespace.isEmpty()) {
+      return properties;
+    }
+    final Properties ret = new Properties();
+    Optional.ofNullable(properties).ifPresent(ret::putAll);
+    ret.setProperty("jkube.namespace", namespace.get());
+    return ret;
+  }
+
   default CompletableFuture<MavenInvocationResult> mavenAsync(
     String goal, Properties properties, OutputStream out, MavenUtils.InvocationRequestCustomizer chainedCustomizer) {
     final CompletableFuture<MavenInvocationResult> future = new CompletableFuture<>();
-    final var asyncRun = CompletableFuture.runAsync(() -> {
+    final AtomicReference<ProcessHandle> fork = new AtomicReference<>();
+    final var asyncRun = executorService().submit(() -> {
       try (
         final var baos = new ByteArrayOutputStream();
         final var tee = new TeeOutputStream(baos, out == null ? OutputStream.nullOutputStream() : out);
@@ -118,9 +149,14 @@ public interface MavenCase extends Project {
           i.setProjects(Collections.singletonList(getProject()));
           i.setGoals(Collections.singletonList(goal));
           i.setProfiles(getProfiles());
-          i.setProperties(properties);
+          i.setProperties(withPooledNamespace(properties));
           recordStdOutCustomizer.customize(i);
           Optional.ofNullable(chainedCustomizer).ifPresent(cc -> cc.customize(i));
+        }, p -> {
+          fork.set(p);
+          if (future.isCancelled()) {
+            destroyProcessTree(p);
+          }
         });
         printStream.flush();
         baos.flush();
@@ -131,12 +167,23 @@ public interface MavenCase extends Project {
         Thread.currentThread().interrupt();
         future.completeExceptionally(ex);
       }
-    }, executorService());
+    });
     future.whenCompleteAsync((result, throwable) -> {
       if (!asyncRun.isDone()) {
         asyncRun.cancel(true);
       }
+      if (future.isCancelled()) {
+        // Interrupting the invocation doesn't stop the forked Maven process (and its own children), only the process
+        // tree of this invocation is destroyed, other invocations of the same project are left alone
+        Optional.ofNullable(fork.get()).ifPresent(MavenCase::destroyProcessTree);
+      }
     });
+    ResourceTracker.track(getClass(), "maven", String.format("Maven %s (%s)", goal, getProject()), asyncRun);
     return future;
   }
+
+  private static void destroyProcessTree(ProcessHandle process) {
+    process.descendants().forEach(ProcessHandle::destroyForcibly);
+    process.destroyForcibly();
+  }
 }
@@ -15,20 +15,35 @@ package org.eclipse.jkube.integrationtests.maven;
 
 import org.eclipse.jkube.integrationtests.cli.CliUtils;
 import org.eclipse.jkube.integrationtests.cli.CliUtils.CliResult;
+import org.apache.maven.shared.invoker.CommandLineConfigurationException;
 import org.apache.maven.shared.invoker.DefaultInvocationRequest;
-import org.apache.maven.shared.invoker.DefaultInvoker;
+import org.apache.maven.shared.invoker.InvocationOutputHandler;
 import org.apache.maven.shared.invoker.InvocationRequest;
 import org.apache.maven.shared.invoker.InvocationResult;
-import org.apache.maven.shared.invoker.Invoker;
+import org.apache.maven.shared.invoker.MavenCommandLineBuilder;
 import org.apache.maven.shared.invoker.MavenInvocationException;
+import org.apache.maven.shared.utils.cli.CommandLineException;
+import org.apache.maven.shared.utils.cli.CommandLineTimeOutException;
+import org.apache.maven.shared.utils.cli.Commandline;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
 import static org.eclipse.jkube.integrationtests.JKubeCase.JKUBE_VERSION_SYSTEM_PROPERTY;
 
 public class MavenUtils {
@@ -43,24 +58,138 @@ public class MavenUtils {
   public static InvocationResult execute(InvocationRequestCustomizer irc)
       throws IOException, InterruptedException, MavenInvocationException {
 
+    return execute(irc, fork -> {});
+  }
+
+  /**
+   * Invokes Maven with the customized request, the handle of the forked Maven process is provided to the listener
+   * as soon as it starts so that its process tree (and only it) can be destroyed if the invocation is cancelled.
+   */
+  public static InvocationResult execute(InvocationRequestCustomizer irc, Consumer<ProcessHandle> forkListener)
+      throws IOException, InterruptedException, MavenInvocationException {
+
     final InvocationRequest invocationRequest = new DefaultInvocationRequest();
     irc.customize(invocationRequest);
-    return execute(invocationRequest);
+    return invoke(invocationRequest, forkListener);
   }
 
   public static InvocationResult execute(InvocationRequest invocationRequest)
       throws IOException, InterruptedException, MavenInvocationException {
 
+    return invoke(invocationRequest, fork -> {});
+  }
+
+  private static InvocationResult invoke(InvocationRequest invocationRequest, Consumer<ProcessHandle> forkListener)
+      throws IOException, InterruptedException, MavenInvocationException {
+
     invocationRequest.setBatchMode(true);
     if (invocationRequest.getProperties() == null) {
       invocationRequest.setProperties(new Properties());
     }
     Optional.ofNullable(System.getProperty(JKUBE_VERSION_SYSTEM_PROPERTY)).ifPresent(jkubeVersion ->
         invocationRequest.getProperties().put(JKUBE_VERSION_MAVEN_PROPERTY, jkubeVersion));
-    final Invoker invoker = new DefaultInvoker();
-    invoker.setMavenHome(new File(getMavenLocation()));
-    invoker.setOutputHandler(new ThreadedSystemOutHandler());
-    return invoker.execute(invocationRequest);
+    final MavenCommandLineBuilder commandLineBuilder = new MavenCommandLineBuilder();
+    commandLineBuilder.setMavenHome(new File(getMavenLocation()));
+    final Commandline commandline;
+    try {
+      commandline = commandLineBuilder.build(invocationRequest);
+    } catch (CommandLineConfigurationException ex) {
+      throw new MavenInvocationException("Error configuring command-line. Reason: " + ex.getMessage(), ex);
+    }
+    // The fork is started from the Commandline (with its environment) as the DefaultInvoker does, but here to get
+    // hold of its process handle
+    final Process process;
+    try {
+      process = commandline.execute();
+    } catch (CommandLineException ex) {
+      throw new MavenInvocationException("Error while executing external command, process killed.", ex);
+    }
+    forkListener.accept(process.toHandle());
+    try {
+      final CompletableFuture<Void> input = feed(invocationRequest.getInputStream(null), process.getOutputStream());
+      final CompletableFuture<Void> output = pump(process.getInputStream(),
+          invocationRequest.getOutputHandler(new ThreadedSystemOutHandler()));
+      final CompletableFuture<Void> error = pump(process.getErrorStream(),
+          invocationRequest.getErrorHandler(new ThreadedSystemOutHandler()));
+      final int timeoutInSeconds = invocationRequest.getTimeoutInSeconds();
+      if (timeoutInSeconds > 0 && !process.waitFor(timeoutInSeconds, TimeUnit.SECONDS)) {
+        destroy(process);
+        return result(Integer.MIN_VALUE, new CommandLineTimeOutException(
+            "Error while executing external command, process killed.",
+            new TimeoutException(String.format("Maven didn't complete in %ss", timeoutInSeconds))));
+      }
+      final int exitCode = process.waitFor();
+      join(output);
+      join(error);
+      input.cancel(true);
+      return result(exitCode, null);
+    } finally {
+      destroy(process);
+    }
+  }
+
+  private static CompletableFuture<Void> feed(InputStream inputStream, OutputStream processInput) {
+    if (inputStream == null) {
+      closeQuietly(processInput);
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.runAsync(() -> {
+      try (OutputStream os = processInput) {
+        inputStream.transferTo(os);
+      } catch (IOException ex) {
+        // The fork stopped reading its input
+      }
+    }, executorService());
+  }
+
+  private static CompletableFuture<Void> pump(InputStream processOutput, InvocationOutputHandler handler) {
+    return CompletableFuture.runAsync(() -> {
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(processOutput, StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          handler.consumeLine(line);
+        }
+      } catch (Exception ex) {
+        throw new CompletionException(new IOException("Unable to consume Maven output", ex));
+      }
+    }, executorService());
+  }
+
+  private static void join(CompletableFuture<Void> pump) throws IOException {
+    try {
+      pump.join();
+    } catch (CompletionException ex) {
+      throw (IOException) ex.getCause();
+    }
+  }
+
+  private static void destroy(Process process) {
+    if (process.isAlive()) {
+      process.descendants().forEach(ProcessHandle::destroyForcibly);
+      process.destroyForcibly();
+    }
+  }
+
+  private static void closeQuietly(OutputStream outputStream) {
+    try {
+      outputStream.close();
+    } catch (IOException ex) {
+      // NO OP
+    }
+  }
+
+  private static InvocationResult result(int exitCode, CommandLineException executionException) {
+    return new InvocationResult() {
+      @Override
+      public CommandLineException getExecutionException() {
+        return executionException;
+      }
+
+      @Override
+      public int getExitCode() {
+        return exitCode;
+      }
+    };
   }
 
   private static String getMavenLocation() throws IOException, InterruptedException {
@@ -19,9 +19,7 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import org.eclipse.jkube.integrationtests.JKubeCase;
 import org.eclipse.jkube.integrationtests.maven.MavenCase;
 
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.assertPod;
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.awaitPod;
-import static org.eclipse.jkube.integrationtests.assertions.ServiceAssertion.awaitService;
+import static org.eclipse.jkube.integrationtests.assertions.ReadinessPipeline.readiness;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -51,17 +49,18 @@ abstract class OpenLiberty implements JKubeCase, MavenCase {
   }
 
   final Pod assertThatShouldApplyResources() throws Exception {
-    final Pod pod = awaitPod(this).getKubernetesResource();
-    assertPod(pod).apply(this).logContains(String.format("Application %s started",getApplication()), LOG_TIMEOUT);
-    assertPod(pod).apply(this).logContains(
-      "The defaultServer server is ready to run a smarter planet. The defaultServer server started in",
-      LOG_TIMEOUT);
-    awaitService(this, pod.getMetadata().getNamespace())
-      .assertIsNodePort()
-      .assertPorts(hasSize(1))
-      .assertPort("glrpc", 9080, true)
-      .assertNodePortResponse("glrpc", equalTo("Hello, World."));
-    return pod;
+    return readiness(this)
+      .logContains(String.format("Application %s started",getApplication()), LOG_TIMEOUT)
+      .logContains(
+        "The defaultServer server is ready to run a smarter planet. The defaultServer server started in",
+        LOG_TIMEOUT)
+      .service(s -> s
+        .assertIsNodePort()
+        .assertPorts(hasSize(1))
+        .assertPort("glrpc", 9080, true))
+      .nodePortResponse("glrpc", equalTo("Hello, World."))
+      .await()
+      .getPod();
   }
 
   final void assertLog(String log) {
@@ -21,9 +21,7 @@ import org.eclipse.jkube.integrationtests.maven.MavenCase;
 
 import java.io.File;
 
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.assertPod;
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.awaitPod;
-import static org.eclipse.jkube.integrationtests.assertions.ServiceAssertion.awaitService;
+import static org.eclipse.jkube.integrationtests.assertions.ReadinessPipeline.readiness;
 import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yaml;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
@@ -57,17 +55,17 @@ abstract class Quarkus implements JKubeCase, MavenCase {
   }
 
   final Pod assertThatShouldApplyResources() throws Exception {
-    final Pod pod = awaitPod(this).getKubernetesResource();
-    assertPod(pod).apply(this)
+    return readiness(this)
       .logContains("quarkus-rest 0.0.0-SNAPSHOT on JVM (powered by Quarkus ", 60)
-      .logContains(".Final) started in", 10);
-    awaitService(this, pod.getMetadata().getNamespace())
-      .assertIsNodePort()
-      .assertPorts(hasSize(1))
-      .assertPort("http", 8080, true)
-      .assertNodePortResponse("http",
-        equalTo("{\"applicationName\":\"JKube\",\"message\":\"Subatomic JKube really whips the llama's ass!\"}"));
-    return pod;
+      .logContains(".Final) started in", 10)
+      .service(s -> s
+        .assertIsNodePort()
+        .assertPorts(hasSize(1))
+        .assertPort("http", 8080, true))
+      .nodePortResponse("http",
+        equalTo("{\"applicationName\":\"JKube\",\"message\":\"Subatomic JKube really whips the llama's ass!\"}"))
+      .await()
+      .getPod();
   }
 
   final void assertHelm(File helmDirectory) {
@@ -13,28 +13,24 @@
  */
 package org.eclipse.jkube.integrationtests.springboot.complete;
 
-import io.fabric8.junit.jupiter.api.KubernetesTest;
-import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.eclipse.jkube.integrationtests.JKubeCase;
 import org.eclipse.jkube.integrationtests.assertions.ServiceAssertion;
+import org.eclipse.jkube.integrationtests.jupiter.api.PooledNamespace;
 import org.eclipse.jkube.integrationtests.maven.MavenCase;
 
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.assertPod;
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.awaitPod;
-import static org.eclipse.jkube.integrationtests.assertions.ServiceAssertion.awaitService;
+import static org.eclipse.jkube.integrationtests.NamespacePool.namespacePool;
+import static org.eclipse.jkube.integrationtests.assertions.ReadinessPipeline.readiness;
 import static org.hamcrest.Matchers.hasSize;
 
-@KubernetesTest(createEphemeralNamespace = false)
+@PooledNamespace
 abstract class Complete implements JKubeCase, MavenCase {
 
   private static final String PROJECT_COMPLETE = "projects-to-be-tested/maven/spring/complete";
 
-  private static KubernetesClient kubernetesClient;
-
   @Override
   public KubernetesClient getKubernetesClient() {
-    return kubernetesClient;
+    return namespacePool().client(getClass());
   }
 
   @Override
@@ -48,12 +44,14 @@ abstract class Complete implements JKubeCase, MavenCase {
   }
 
   final ServiceAssertion assertThatShouldApplyResources() throws Exception {
-    final Pod pod = awaitPod(this).getKubernetesResource();
-    assertPod(pod).apply(this).logContains("CompleteApplication   : Started CompleteApplication in", 60);
-    return awaitService(this, pod.getMetadata().getNamespace())
-      .assertIsNodePort()
-      .assertPorts(hasSize(1))
-      .assertPort("us-cli", 8082, true);
+    return readiness(this)
+      .logContains("CompleteApplication   : Started CompleteApplication in", 60)
+      .service(s -> s
+        .assertIsNodePort()
+        .assertPorts(hasSize(1))
+        .assertPort("us-cli", 8082, true))
+      .await()
+      .getServiceAssertion();
   }
 
 }
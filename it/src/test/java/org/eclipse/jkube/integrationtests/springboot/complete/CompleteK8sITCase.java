@@ -14,6 +14,8 @@
 package org.eclipse.jkube.integrationtests.springboot.complete;
 
 import org.apache.maven.shared.invoker.InvocationResult;
+import org.eclipse.jkube.integrationtests.assertions.Manifests;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
@@ -26,7 +28,6 @@ import java.io.File;
 import java.util.Collections;
 import java.util.List;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Locks.SPRINGBOOT_COMPLETE_K8s;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.DeploymentAssertion.awaitDeployment;
@@ -34,6 +35,8 @@ import static org.eclipse.jkube.integrationtests.assertions.DockerAssertion.asse
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
 import static org.eclipse.jkube.integrationtests.assertions.JKubeAssertions.assertJKube;
 import static org.eclipse.jkube.integrationtests.assertions.KubernetesListAssertion.assertListResource;
+import static org.eclipse.jkube.integrationtests.assertions.ManifestConsistency.assertConsistent;
+import static org.eclipse.jkube.integrationtests.assertions.OpenApiValidator.assertSchemaValid;
 import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yaml;
 import static org.eclipse.jkube.integrationtests.docker.DockerUtils.getImageHistory;
 import static org.eclipse.jkube.integrationtests.docker.DockerUtils.listImageFiles;
@@ -41,6 +44,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.anEmptyMap;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
@@ -98,14 +102,19 @@ class CompleteK8sITCase extends Complete {
       String.format("../%s/target/classes/META-INF", getProject()));
     assertThat(metaInfDirectory.exists(), equalTo(true));
     assertListResource(new File(metaInfDirectory, "jkube/kubernetes.yml"));
+    assertSchemaValid(new File(metaInfDirectory, "jkube/kubernetes.yml"));
     assertThat(new File(metaInfDirectory, "jkube/kubernetes/password-secret.yml"), yaml(not(anEmptyMap())));
     assertThat(new File(metaInfDirectory, "jkube/kubernetes/spring-boot-complete-deployment.yml"), yaml(not(anEmptyMap())));
     assertThat(new File(metaInfDirectory, "jkube/kubernetes/spring-boot-complete-service.yml"), yaml(not(anEmptyMap())));
+    final Manifests manifests = Manifests.kubernetes(metaInfDirectory);
+    assertConsistent(manifests);
+    assertThat(manifests.deployment(getApplication()).containers(), not(empty()));
+    assertThat(manifests.service(getApplication()).getSpec().getPorts(), not(empty()));
   }
 
   @Test
   @Order(3)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("k8s:apply, should deploy pod and service")
   @SuppressWarnings("unchecked")
   void k8sApply() throws Exception {
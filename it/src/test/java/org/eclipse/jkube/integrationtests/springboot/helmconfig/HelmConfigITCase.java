@@ -17,6 +17,7 @@ import io.fabric8.junit.jupiter.api.KubernetesTest;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.assertions.HelmChartArchive;
 import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistry;
 import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistryHost;
 import org.eclipse.jkube.integrationtests.maven.MavenCase;
@@ -33,6 +34,7 @@ import java.util.Properties;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
+import static org.eclipse.jkube.integrationtests.assertions.OpenApiValidator.assertSchemaValid;
 import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yaml;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
@@ -43,6 +45,7 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 
@@ -98,10 +101,19 @@ class HelmConfigITCase implements JKubeCase, MavenCase {
     final InvocationResult invocationResult = maven("k8s:helm");
     // Then
     assertInvocation(invocationResult);
-    assertThat(new File(String.format("../%s/target/jkube/helm/This is the chart name/kubernetes/This is the chart name-1.0-KUBERNETES.tar", getProject()))
-      .exists(), equalTo(true));
+    final File chartArchive = new File(String.format("../%s/target/jkube/helm/This is the chart name/kubernetes/This is the chart name-1.0-KUBERNETES.tar", getProject()));
+    assertThat(chartArchive.exists(), equalTo(true));
     final File helmDirectory = new File(
       String.format("../%s/target/jkube/helm/This is the chart name/kubernetes", getProject()));
+    final HelmChartArchive archive = HelmChartArchive.inspect(chartArchive);
+    archive.assertMatchesDirectory(helmDirectory);
+    assertSchemaValid(archive);
+    assertThat(archive.yaml("Chart.yaml"), allOf(
+      hasEntry("name", "This is the chart name"),
+      hasEntry("version", "1.0-KUBERNETES")
+    ));
+    assertThat(archive.templates().keySet(), hasItems(
+      "templates/spring-boot-helm-config-deployment.yaml", "templates/spring-boot-helm-config-service.yaml"));
     assertThat(new File(helmDirectory, "Chart.yaml"), yaml(allOf(
       aMapWithSize(9),
       hasEntry("apiVersion", "v1"),
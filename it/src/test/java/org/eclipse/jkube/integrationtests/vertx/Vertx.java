@@ -19,9 +19,7 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import org.eclipse.jkube.integrationtests.JKubeCase;
 import org.eclipse.jkube.integrationtests.maven.MavenCase;
 
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.assertPod;
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.awaitPod;
-import static org.eclipse.jkube.integrationtests.assertions.ServiceAssertion.awaitService;
+import static org.eclipse.jkube.integrationtests.assertions.ReadinessPipeline.readiness;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 
@@ -48,14 +46,15 @@ abstract class Vertx implements JKubeCase, MavenCase {
   }
 
   final Pod assertThatShouldApplyResources() throws Exception {
-    final Pod pod = awaitPod(this).getKubernetesResource();
-    assertPod(pod).apply(this).logContains("Succeeded in deploying verticle", 60);
-    awaitService(this, pod.getMetadata().getNamespace())
-      .assertIsNodePort()
-      .assertPorts(hasSize(1))
-      .assertPort("http", 8080, true)
-      .assertNodePortResponse("http", equalTo("Hello from JKube!"));
-    return pod;
+    return readiness(this)
+      .logContains("Succeeded in deploying verticle", 60)
+      .service(s -> s
+        .assertIsNodePort()
+        .assertPorts(hasSize(1))
+        .assertPort("http", 8080, true))
+      .nodePortResponse("http", equalTo("Hello from JKube!"))
+      .await()
+      .getPod();
   }
 
 }
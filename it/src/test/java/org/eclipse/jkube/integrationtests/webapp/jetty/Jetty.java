@@ -19,9 +19,7 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import org.eclipse.jkube.integrationtests.JKubeCase;
 import org.eclipse.jkube.integrationtests.maven.MavenCase;
 
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.assertPod;
-import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.awaitPod;
-import static org.eclipse.jkube.integrationtests.assertions.ServiceAssertion.awaitService;
+import static org.eclipse.jkube.integrationtests.assertions.ReadinessPipeline.readiness;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
@@ -50,13 +48,14 @@ abstract class Jetty implements JKubeCase, MavenCase {
   }
 
   final Pod assertThatShouldApplyResources() throws Exception {
-    final Pod pod = awaitPod(this).getKubernetesResource();
-    assertPod(pod).apply(this).logContains("Server:main: Started", 120);
-    awaitService(this, pod.getMetadata().getNamespace())
-      .assertPorts(hasSize(1))
-      .assertPort("http", 8080, true)
-      .assertNodePortResponse("http", containsString("<h2>Eclipse JKube on Jetty rocks!</h2>"));
-    return pod;
+    return readiness(this)
+      .logContains("Server:main: Started", 120)
+      .service(s -> s
+        .assertPorts(hasSize(1))
+        .assertPort("http", 8080, true))
+      .nodePortResponse("http", containsString("<h2>Eclipse JKube on Jetty rocks!</h2>"))
+      .await()
+      .getPod();
   }
 
   final void assertLog(String log) {
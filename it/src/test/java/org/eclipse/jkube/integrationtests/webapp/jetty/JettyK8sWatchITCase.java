@@ -20,6 +20,7 @@ import io.fabric8.kubernetes.client.dsl.PodResource;
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.shared.invoker.MavenInvocationException;
 import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.eclipse.jkube.integrationtests.maven.MavenCase;
 import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
 import org.junit.jupiter.api.AfterEach;
@@ -27,7 +28,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -40,7 +40,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static org.eclipse.jkube.integrationtests.AsyncUtil.await;
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
 import static org.eclipse.jkube.integrationtests.assertions.PodAssertion.assertPod;
@@ -51,7 +50,6 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.stringContainsInOrder;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 @Tag(KUBERNETES)
 @KubernetesTest(createEphemeralNamespace = false)
@@ -101,7 +99,7 @@ class JettyK8sWatchITCase implements JKubeCase, MavenCase {
 
   @Test
   @DisplayName("k8s:watch, with mode=both, SHOULD hot deploy the application")
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   void k8sWatchBuildAndRun() throws Exception {
     try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
       // Given
@@ -127,7 +125,7 @@ class JettyK8sWatchITCase implements JKubeCase, MavenCase {
 
   @Test
   @DisplayName("k8s:watch, with mode=none, SHOULD NOT hot deploy the application")
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   void k8sWatchNone() throws Exception {
     try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
       // Given
@@ -145,7 +143,7 @@ class JettyK8sWatchITCase implements JKubeCase, MavenCase {
 
   @Test
   @DisplayName("k8s:watch, with mode=copy, SHOULD hot deploy the application")
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   void k8sWatchCopy() throws Exception {
     try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
       // Given
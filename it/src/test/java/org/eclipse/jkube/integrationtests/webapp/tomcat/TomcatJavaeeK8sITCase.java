@@ -16,6 +16,7 @@ package org.eclipse.jkube.integrationtests.webapp.tomcat;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Service;
 import org.apache.maven.shared.invoker.InvocationResult;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -23,13 +24,11 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.io.File;
 import java.util.List;
 import java.util.Properties;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.DockerAssertion.assertImageWasRecentlyBuilt;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
@@ -44,7 +43,6 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 /**
  * This test making sure that we support legacy Javaee apps in Tomcat. By
@@ -101,7 +99,7 @@ class TomcatJavaeeK8sITCase extends Tomcat {
 
   @Test
   @Order(2)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("k8s:apply, should deploy pod and service")
   void k8sApply() throws Exception {
     // When
@@ -116,7 +114,7 @@ class TomcatJavaeeK8sITCase extends Tomcat {
 
   @Test
   @Order(3)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("The JavaEE servlet, exposed as a NodePort Service, should return a string and contain `Hello World`")
   void testJavaeeNodePortResponse() throws Exception {
     // Given
@@ -128,7 +126,7 @@ class TomcatJavaeeK8sITCase extends Tomcat {
 
   @Test
   @Order(3)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("k8s:log, should retrieve log with migration notice")
   void k8sLog() throws Exception {
     // When
@@ -171,7 +169,7 @@ class TomcatJavaeeK8sITCase extends Tomcat {
 
   @Test
   @Order(5)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("k8s:apply, should deploy pod and service with new image")
   void k8sApplyWithNewDeployment() throws Exception {
     k8sApply();
@@ -179,7 +177,7 @@ class TomcatJavaeeK8sITCase extends Tomcat {
 
   @Test
   @Order(6)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("JavaEE Service as NodePort response should return 500 and java.lang.NoClassDefFoundError message")
   void testJavaEENodePortResponseError() throws Exception {
     // Given
@@ -192,7 +190,7 @@ class TomcatJavaeeK8sITCase extends Tomcat {
 
   @Test
   @Order(6)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("k8s:log, should retrieve log without JavaEE migration notice")
   void k8sLogWithoutJavaeeMigrationNotice() throws Exception {
     // When
@@ -0,0 +1,95 @@
+#!/usr/bin/env python3
+#
+# Copyright (c) 2019 Red Hat, Inc.
+# This program and the accompanying materials are made
+# available under the terms of the Eclipse Public License 2.0
+# which is available at:
+#
+#     https://www.eclipse.org/legal/epl-2.0/
+#
+# SPDX-License-Identifier: EPL-2.0
+#
+# Contributors:
+#   Red Hat, Inc. - initial API and implementation
+#
+
+"""Trims an upstream OpenAPI v2 schema (swagger.json) to the definitions of the provided kinds.
+
+Every definition reachable from the kept kinds (the transitive closure of their $ref) is kept unchanged, so the
+trimmed schema validates exactly like the upstream one for those kinds. The source file and its SHA-256 are recorded
+in the output.
+
+  curl -sSL -o swagger.json \\
+    https://raw.githubusercontent.com/kubernetes/kubernetes/v1.28.0/api/openapi-spec/swagger.json
+  scripts/trim-openapi-schema.py swagger.json openapi/v1.28/kubernetes.json
+  mvn verify -PKubernetes,springboot -Dit.openapi.dir=$PWD/openapi
+"""
+
+import argparse
+import hashlib
+import json
+import sys
+
+# Kinds JKube generates
+DEFAULT_KINDS = [
+  "ConfigMap", "CronJob", "DaemonSet", "Deployment", "DeploymentConfig", "BuildConfig", "HorizontalPodAutoscaler",
+  "ImageStream", "Ingress", "Job", "List", "NetworkPolicy", "PersistentVolume", "PersistentVolumeClaim", "Pod",
+  "ReplicaSet", "ReplicationController", "Role", "RoleBinding", "Route", "Secret", "Service", "ServiceAccount",
+  "StatefulSet", "Template",
+]
+DEFINITIONS = "#/definitions/"
+
+
+def refs(node):
+  if isinstance(node, dict):
+    for key, value in node.items():
+      if key == "$ref" and isinstance(value, str) and value.startswith(DEFINITIONS):
+        yield value[len(DEFINITIONS):]
+      else:
+        yield from refs(value)
+  elif isinstance(node, list):
+    for value in node:
+      yield from refs(value)
+
+
+def trim(definitions, kinds):
+  pending = [name for name, definition in definitions.items()
+             if any(gvk.get("kind") in kinds for gvk in definition.get("x-kubernetes-group-version-kind", []))]
+  kept = {}
+  while pending:
+    name = pending.pop()
+    if name in kept:
+      continue
+    if name not in definitions:
+      sys.exit("Definition %s referenced but not found in the source schema" % name)
+    kept[name] = definitions[name]
+    pending.extend(ref for ref in refs(definitions[name]) if ref not in kept)
+  return dict(sorted(kept.items()))
+
+
+def main():
+  parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+  parser.add_argument("source", help="upstream swagger.json")
+  parser.add_argument("target", help="trimmed schema to write")
+  parser.add_argument("--kind", action="append", dest="kinds", help="kind to keep (repeatable), JKube's by default")
+  args = parser.parse_args()
+  with open(args.source, "rb") as source:
+    content = source.read()
+  schema = json.loads(content)
+  definitions = trim(schema.get("definitions", {}), set(args.kinds or DEFAULT_KINDS))
+  if not definitions:
+    sys.exit("None of the kinds is defined in %s" % args.source)
+  trimmed = {
+    "swagger": schema.get("swagger", "2.0"),
+    "info": schema.get("info", {}),
+    "x-jkube-trimmed-from": {"file": args.source, "sha256": hashlib.sha256(content).hexdigest()},
+    "definitions": definitions,
+  }
+  with open(args.target, "w") as target:
+    json.dump(trimmed, target, indent=2, sort_keys=False)
+    target.write("\n")
+  print("%s: %s of %s definitions" % (args.target, len(definitions), len(schema.get("definitions", {}))))
+
+
+if __name__ == "__main__":
+  main()